@@ -1,9 +1,12 @@
 package org.example.gactifs.Category.Controller;
 import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Category.Service.CategoryAssetCounter;
 import org.example.gactifs.Category.Service.CategoryService;
 import org.example.gactifs.Category.models.Category;
+import org.example.gactifs.common.SnapshotHolder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.*;
 
@@ -13,15 +16,21 @@ import java.util.*;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CategoryAssetCounter categoryAssetCounter;
 
     @GetMapping
     public List<Category> getAll() {
         return categoryService.getAll();
     }
 
+    // Liste servie depuis un instantané ; If-None-Match permet une revalidation sans corps (304)
     @GetMapping("/active")
-    public List<Category> getActive() {
-        return categoryService.getActive();
+    public ResponseEntity<List<Category>> getActive(WebRequest request) {
+        SnapshotHolder.Snapshot<Category> snapshot = categoryService.getActive();
+        if (request.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(snapshot.etag()).body(snapshot.items());
     }
 
     @GetMapping("/{id}")
@@ -56,6 +65,13 @@ public class CategoryController {
         return categoryService.checkCodeExists(code, excludeId);
     }
 
+    // Recalcule nombreActifs de toutes les catégories à partir des actifs
+    @PostMapping("/recount")
+    public ResponseEntity<Void> recount() {
+        categoryAssetCounter.reconcile();
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/statistics")
     public Map<String, Long> getStatistics() {
         Map<String, Long> stats = new HashMap<>();
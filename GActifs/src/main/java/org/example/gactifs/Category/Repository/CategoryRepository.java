@@ -2,10 +2,38 @@ package org.example.gactifs.Category.Repository;
 
 import org.example.gactifs.Category.models.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
-    boolean existsByCode(String code);
+    List<Category> findByActifTrue();
+
+    boolean existsByCodeNormalise(String codeNormalise);
+
+    boolean existsByCodeNormaliseAndIdNot(String codeNormalise, Long id);
+
+    // Lignes [codeNormalise, id]
+    @Query("SELECT c.codeNormalise, c.id FROM Category c WHERE c.codeNormalise IS NOT NULL")
+    List<Object[]> findAllCodes();
+
+    // Renseigne le code normalisé des catégories créées avant son introduction. Les anciennes lignes peuvent
+    // différer par la seule casse ("PC" / "pc") : seule la plus ancienne reçoit le code normalisé, les autres
+    // restent à NULL (voir findCodeCollisions) au lieu de faire échouer la mise à jour sur la contrainte unique.
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE categories c SET code_normalise = LOWER(TRIM(c.code)) " +
+            "WHERE c.code_normalise IS NULL AND c.code IS NOT NULL AND NOT EXISTS (" +
+            "  SELECT 1 FROM categories o WHERE o.id <> c.id AND (o.code_normalise = LOWER(TRIM(c.code)) " +
+            "  OR (o.code_normalise IS NULL AND o.id < c.id AND LOWER(TRIM(o.code)) = LOWER(TRIM(c.code)))))",
+            nativeQuery = true)
+    int backfillCodeNormalise();
+
+    // Catégories laissées sans code normalisé par le rattrapage : code en doublon à la casse près
+    @Query("SELECT c FROM Category c WHERE c.codeNormalise IS NULL AND c.code IS NOT NULL ORDER BY c.id")
+    List<Category> findCodeCollisions();
 
     @Query("SELECT COUNT(c) FROM Category c WHERE c.actif = true")
     long countActive();
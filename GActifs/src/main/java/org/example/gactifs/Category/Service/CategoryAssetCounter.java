@@ -0,0 +1,126 @@
+package org.example.gactifs.Category.Service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.asset.enums.AssetCategory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Maintient Category.nombreActifs à partir des écritures d'AssetService.
+ * Les variations sont cumulées en mémoire par code de catégorie puis appliquées par lot
+ * avec un incrément atomique côté base ; une réconciliation périodique recalcule
+ * les compteurs par un seul GROUP BY sur les actifs.
+ * <p>
+ * Une écriture d'actif et l'enregistrement de sa variation passent par write() sous le verrou partagé ;
+ * la réconciliation prend le verrou exclusif, si bien qu'aucune écriture validée n'a sa variation encore
+ * en route pendant le recalcul et que les variations en attente, déjà comptées par celui-ci, sont écartées.
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryAssetCounter {
+
+    private static final String INCREMENT_SQL =
+            "UPDATE categories SET nombre_actifs = COALESCE(nombre_actifs, 0) + ? WHERE code_normalise = ?";
+
+    private static final String RECONCILE_SQL =
+            "UPDATE categories c SET nombre_actifs = COALESCE(g.n, 0) " +
+            "FROM categories c2 LEFT JOIN (" +
+            "  SELECT LOWER(categorie) AS code, COUNT(*) AS n FROM asset WHERE categorie IS NOT NULL GROUP BY LOWER(categorie)" +
+            ") g ON g.code = c2.code_normalise " +
+            "WHERE c2.id = c.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryService categoryService;
+
+    private final Map<String, AtomicLong> pending = new ConcurrentHashMap<>();
+    private final ReadWriteLock writes = new ReentrantReadWriteLock();
+
+    public <T> T write(Supplier<T> write) {
+        Lock lock = writes.readLock();
+        lock.lock();
+        try {
+            return write.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void write(Runnable write) {
+        write(() -> {
+            write.run();
+            return null;
+        });
+    }
+
+    public void increment(AssetCategory category) {
+        record(category, 1);
+    }
+
+    public void decrement(AssetCategory category) {
+        record(category, -1);
+    }
+
+    public void moved(AssetCategory from, AssetCategory to) {
+        if (from != to) {
+            record(from, -1);
+            record(to, 1);
+        }
+    }
+
+    private void record(AssetCategory category, long delta) {
+        if (category != null) {
+            pending.computeIfAbsent(category.name().toLowerCase(Locale.ROOT), k -> new AtomicLong()).addAndGet(delta);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.categories.counter.flush-interval:5000}")
+    @PreDestroy
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        pending.forEach((code, counter) -> {
+            long delta = counter.getAndSet(0);
+            if (delta != 0) {
+                batch.add(new Object[]{delta, code});
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, batch);
+        } catch (RuntimeException e) {
+            // Les variations non appliquées sont conservées pour le prochain passage
+            batch.forEach(row -> pending.computeIfAbsent((String) row[1], k -> new AtomicLong())
+                    .addAndGet((Long) row[0]));
+            throw e;
+        }
+        categoryService.refreshActive();
+    }
+
+    @Scheduled(cron = "${application.categories.counter.reconcile-cron:0 0 3 * * *}")
+    public synchronized void reconcile() {
+        Lock lock = writes.writeLock();
+        lock.lock();
+        try {
+            jdbcTemplate.update(RECONCILE_SQL);
+            // Toutes les variations en attente concernent des écritures vues par le recalcul
+            pending.clear();
+        } finally {
+            lock.unlock();
+        }
+        categoryService.refreshActive();
+    }
+}
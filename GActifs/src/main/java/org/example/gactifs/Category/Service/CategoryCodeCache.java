@@ -0,0 +1,66 @@
+package org.example.gactifs.Category.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.gactifs.Category.Repository.CategoryRepository;
+import org.example.gactifs.Category.models.Category;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Ensemble des codes de catégorie (normalisés) en mémoire pour la validation à la saisie ;
+// rechargé à la demande après chaque écriture de CategoryService.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryCodeCache {
+
+    private final CategoryRepository categoryRepository;
+
+    // Incrémentée à chaque invalidation ; un instantané n'est servi que s'il porte la version courante
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(long version, Map<String, Long> codes) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        categoryRepository.backfillCodeNormalise();
+        for (Category c : categoryRepository.findCodeCollisions()) {
+            log.warn("Catégorie {} ({}) : code en doublon à la casse près, code normalisé laissé vide ; "
+                    + "renommer ou fusionner avec la catégorie existante", c.getId(), c.getCode());
+        }
+        invalidate();
+    }
+
+    public boolean exists(String normalizedCode, Long excludeId) {
+        Long id = codes().get(normalizedCode);
+        return id != null && !id.equals(excludeId);
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    // Une invalidation survenue pendant le chargement empêche la publication de l'instantané chargé
+    private Map<String, Long> codes() {
+        long expected = version.get();
+        Snapshot current = snapshot;
+        if (current != null && current.version() == expected) {
+            return current.codes();
+        }
+        Map<String, Long> loaded = new HashMap<>();
+        for (Object[] row : categoryRepository.findAllCodes()) {
+            loaded.put((String) row[0], (Long) row[1]);
+        }
+        if (version.get() == expected) {
+            snapshot = new Snapshot(expected, loaded);
+        }
+        return loaded;
+    }
+}
@@ -1,7 +1,10 @@
 package org.example.gactifs.Category.Service;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.example.gactifs.Category.Repository.CategoryRepository;
 import org.example.gactifs.Category.models.Category;
+import org.example.gactifs.common.SnapshotHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -13,16 +16,26 @@ import java.util.NoSuchElementException;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryCodeCache codeCache;
+    private final ObjectMapper objectMapper;
+
+    private SnapshotHolder<Category> activeCategories;
+
+    @PostConstruct
+    void initSnapshot() {
+        activeCategories = new SnapshotHolder<>(categoryRepository::findByActifTrue, objectMapper);
+    }
 
     public List<Category> getAll() {
         return categoryRepository.findAll();
     }
 
-    public List<Category> getActive() {
-        return categoryRepository.findAll()
-                .stream()
-                .filter(Category::isActif)
-                .toList();
+    public SnapshotHolder.Snapshot<Category> getActive() {
+        return activeCategories.get();
+    }
+
+    public void refreshActive() {
+        activeCategories.refresh();
     }
 
     public Category getById(Long id) {
@@ -31,17 +44,23 @@ public class CategoryService {
     }
 
     public Category create(Category category) {
-        if (categoryRepository.existsByCode(category.getCode())) {
+        if (categoryRepository.existsByCodeNormalise(Category.normalizeCode(category.getCode()))) {
             throw new IllegalArgumentException("Cette catégorie existe déjà");
         }
         category.setDateCreation(LocalDateTime.now());
         category.setDateModification(LocalDateTime.now());
         category.setNombreActifs(0);
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        codeCache.invalidate();
+        refreshActive();
+        return saved;
     }
 
     public Category update(Long id, Category categoryData) {
         Category category = getById(id);
+        if (categoryRepository.existsByCodeNormaliseAndIdNot(Category.normalizeCode(categoryData.getCode()), id)) {
+            throw new IllegalArgumentException("Cette catégorie existe déjà");
+        }
         category.setNom(categoryData.getNom());
         category.setDescription(categoryData.getDescription());
         category.setCode(categoryData.getCode());
@@ -49,24 +68,30 @@ public class CategoryService {
         category.setIcone(categoryData.getIcone());
         category.setActif(categoryData.isActif());
         category.setDateModification(LocalDateTime.now());
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        codeCache.invalidate();
+        refreshActive();
+        return saved;
     }
 
     public void delete(Long id) {
         categoryRepository.deleteById(id);
+        codeCache.invalidate();
+        refreshActive();
     }
 
     public Category toggleStatus(Long id) {
         Category category = getById(id);
         category.setActif(!category.isActif());
         category.setDateModification(LocalDateTime.now());
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        refreshActive();
+        return saved;
     }
 
     public boolean checkCodeExists(String code, Long excludeId) {
-        return categoryRepository.findAll().stream()
-                .anyMatch(c -> c.getCode().equalsIgnoreCase(code)
-                        && (excludeId == null || !c.getId().equals(excludeId)));
+        String normalized = Category.normalizeCode(code);
+        return normalized != null && codeCache.exists(normalized, excludeId);
     }
 
     public long countTotal() {
@@ -1,9 +1,11 @@
 package org.example.gactifs.Category.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Entity
 @Table(name = "categories")
@@ -21,6 +23,11 @@ public class Category {
     private String nom;
     private String description;
     private String code;
+
+    // Code normalisé (minuscules, sans espaces autour) : unicité insensible à la casse
+    @JsonIgnore
+    @Column(name = "code_normalise", unique = true)
+    private String codeNormalise;
     private String couleur;
     private String icone;
     private boolean actif;
@@ -29,4 +36,14 @@ public class Category {
     private LocalDateTime dateModification;
 
     private Integer nombreActifs;
+
+    @PrePersist
+    @PreUpdate
+    void normaliserCode() {
+        this.codeNormalise = normalizeCode(code);
+    }
+
+    public static String normalizeCode(String code) {
+        return code == null ? null : code.trim().toLowerCase(Locale.ROOT);
+    }
 }
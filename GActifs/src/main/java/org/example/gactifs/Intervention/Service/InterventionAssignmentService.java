@@ -0,0 +1,337 @@
+package org.example.gactifs.Intervention.Service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.gactifs.Intervention.assignment.AssignmentSolver;
+import org.example.gactifs.Intervention.dto.BulkAssignRequest;
+import org.example.gactifs.Intervention.dto.BulkAssignResult;
+import org.example.gactifs.Intervention.dto.FreeBusy;
+import org.example.gactifs.Intervention.dto.TechnicianAvailability;
+import org.example.gactifs.Intervention.model.Intervention;
+import org.example.gactifs.Intervention.stats.InterventionStatsRollup;
+import org.example.gactifs.auth.enums.Role;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Affectation des interventions aux techniciens : manuelle par lot, ou calculée par {@link AssignmentSolver}
+ * à partir des priorités, durées estimées, échéances et services des interventions, de la charge au
+ * calendrier des techniciens et de leur historique par service.
+ * <p>
+ * Les écritures sont conditionnelles (intervention ouverte et, pour l'optimiseur, toujours non affectée) :
+ * une affectation faite entre-temps par un répartiteur n'est jamais écrasée.
+ */
+@Service
+public class InterventionAssignmentService {
+
+    private static final String OPEN_STATUTS = InterventionService.OPEN.stream()
+            .map(s -> "'" + s.name() + "'").reduce((a, b) -> a + ", " + b).orElseThrow();
+
+    private static final String TECHNICIANS_SQL =
+            "SELECT id, first_name, last_name, email FROM users WHERE role = '" + Role.TECHNICIEN.name() + "' " +
+            "AND enabled = true ORDER BY last_name, first_name, id";
+
+    private static final String TECHNICIAN_EXISTS_SQL =
+            "SELECT COUNT(*) FROM users WHERE id = :id AND role = '" + Role.TECHNICIEN.name() + "' AND enabled = true";
+
+    private static final String BACKLOG_SQL =
+            "SELECT technicien_assigne_id, COUNT(*) AS n, " +
+            "SUM(CASE WHEN date_debut IS NULL THEN coalesce(duree_estimee, :defaultDuration) ELSE 0 END) AS backlog " +
+            "FROM interventions WHERE technicien_assigne_id IN (:ids) AND statut IN (" + OPEN_STATUTS + ") " +
+            "GROUP BY technicien_assigne_id";
+
+    private static final String AFFINITY_SQL =
+            "SELECT technicien_assigne_id, service_direction_id, COUNT(*) AS n FROM interventions " +
+            "WHERE technicien_assigne_id IN (:ids) AND service_direction_id IS NOT NULL AND date_creation >= :since " +
+            "GROUP BY technicien_assigne_id, service_direction_id";
+
+    private static final String CANDIDATES_SQL =
+            "SELECT id, priorite, duree_estimee, date_echeance, service_direction_id FROM interventions " +
+            "WHERE technicien_assigne_id IS NULL AND statut IN (" + OPEN_STATUTS + ")";
+
+    private static final String ASSIGN_SQL =
+            "UPDATE interventions SET technicien_assigne_id = :technicienId " +
+            "WHERE id IN (:ids) AND statut IN (" + OPEN_STATUTS + ") RETURNING id";
+
+    private static final String ASSIGN_IF_FREE_SQL =
+            "UPDATE interventions SET technicien_assigne_id = :technicienId " +
+            "WHERE id = :id AND technicien_assigne_id IS NULL AND statut IN (" + OPEN_STATUTS + ")";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final InterventionCalendarService calendarService;
+    private final InterventionStatsRollup statsRollup;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool pool;
+    private final AssignmentSolver solver;
+
+    @Value("${application.interventions.assignment.time-budget:2000}")
+    private long timeBudgetMillis;
+
+    @Value("${application.interventions.assignment.horizon-days:14}")
+    private int horizonDays;
+
+    @Value("${application.interventions.assignment.hours-per-day:8}")
+    private double hoursPerDay;
+
+    @Value("${application.interventions.assignment.default-duration:2}")
+    private double defaultDuration;
+
+    @Value("${application.interventions.assignment.affinity-days:365}")
+    private int affinityDays;
+
+    @Value("${application.interventions.assignment.max-batch:5000}")
+    private int maxBatch;
+
+    public InterventionAssignmentService(NamedParameterJdbcTemplate jdbcTemplate,
+                                         InterventionCalendarService calendarService,
+                                         InterventionStatsRollup statsRollup,
+                                         TransactionTemplate transactionTemplate,
+                                         @Value("${application.interventions.assignment.parallelism:0}") int parallelism,
+                                         @Value("${application.interventions.assignment.affinity-weight:4}") double affinityWeight) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.calendarService = calendarService;
+        this.statsRollup = statsRollup;
+        this.transactionTemplate = transactionTemplate;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.solver = new AssignmentSolver(pool, affinityWeight);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    public List<TechnicianAvailability> available(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plusDays(horizonDays);
+        List<TechnicianAvailability> technicians = loadAvailability(start, end);
+        technicians.sort(Comparator.comparingDouble(TechnicianAvailability::getFreeHours).reversed());
+        return technicians;
+    }
+
+    public BulkAssignResult assign(BulkAssignRequest request) {
+        List<Long> ids = request.getInterventionIds() != null
+                ? request.getInterventionIds().stream().filter(Objects::nonNull).distinct().toList()
+                : null;
+        if (ids != null && ids.size() > maxBatch) {
+            throw new IllegalArgumentException("Au plus " + maxBatch + " interventions par affectation");
+        }
+        if (request.getTechnicienId() != null) {
+            if (ids == null || ids.isEmpty()) {
+                throw new IllegalArgumentException("interventionIds est obligatoire pour une affectation manuelle");
+            }
+            return assignTo(request.getTechnicienId(), ids);
+        }
+        return optimize(ids);
+    }
+
+    private BulkAssignResult assignTo(UUID technicienId, List<Long> ids) {
+        long start = System.nanoTime();
+        Integer technicians = jdbcTemplate.queryForObject(TECHNICIAN_EXISTS_SQL, Map.of("id", technicienId), Integer.class);
+        if (technicians == null || technicians == 0) {
+            throw new NoSuchElementException("Technicien introuvable : " + technicienId);
+        }
+        Set<Long> updated = new HashSet<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            statsRollup.remove(ids);
+            updated.addAll(jdbcTemplate.queryForList(ASSIGN_SQL,
+                    new MapSqlParameterSource().addValue("technicienId", technicienId).addValue("ids", ids), Long.class));
+            statsRollup.add(ids);
+        });
+        List<BulkAssignResult.Row> rows = ids.stream()
+                .map(id -> updated.contains(id)
+                        ? row(id, technicienId, BulkAssignResult.Status.ASSIGNED)
+                        : row(id, null, BulkAssignResult.Status.SKIPPED))
+                .toList();
+        return result(rows, null, System.nanoTime() - start);
+    }
+
+    private BulkAssignResult optimize(List<Long> ids) {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        List<TechnicianAvailability> availability = loadAvailability(now, now.plusDays(horizonDays));
+        Map<UUID, Map<Long, Double>> affinity = loadAffinity(availability, now.minusDays(affinityDays));
+        double capacity = horizonDays * hoursPerDay;
+        List<AssignmentSolver.Technician> technicians = availability.stream()
+                .map(t -> new AssignmentSolver.Technician(t.getId(), capacity - t.getFreeHours(), capacity,
+                        affinity.getOrDefault(t.getId(), Map.of()),
+                        // Sans historique : ni favorisé ni pénalisé sur un service
+                        affinity.containsKey(t.getId()) ? 0 : 0.5))
+                .toList();
+
+        List<AssignmentSolver.Task> tasks = loadCandidates(ids, now);
+        AssignmentSolver.Solution solution = solver.solve(tasks, technicians, Duration.ofMillis(timeBudgetMillis));
+
+        List<BulkAssignResult.Row> rows = new ArrayList<>(tasks.size());
+        List<MapSqlParameterSource> updates = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            int t = solution.assignment()[i];
+            long id = tasks.get(i).id();
+            if (t < 0) {
+                rows.add(row(id, null, BulkAssignResult.Status.UNASSIGNABLE));
+            } else {
+                UUID technicienId = technicians.get(t).id();
+                rows.add(row(id, technicienId, BulkAssignResult.Status.ASSIGNED));
+                updates.add(new MapSqlParameterSource().addValue("id", id).addValue("technicienId", technicienId));
+            }
+        }
+        if (!updates.isEmpty()) {
+            List<Long> assigned = updates.stream().map(u -> (Long) u.getValue("id")).toList();
+            int[] counts = transactionTemplate.execute(status -> {
+                statsRollup.remove(assigned);
+                int[] result = jdbcTemplate.batchUpdate(ASSIGN_IF_FREE_SQL, updates.toArray(MapSqlParameterSource[]::new));
+                statsRollup.add(assigned);
+                return result;
+            });
+            Map<Long, Integer> byId = new HashMap<>();
+            for (int k = 0; k < counts.length; k++) {
+                byId.put((Long) updates.get(k).getValue("id"), counts[k]);
+            }
+            rows.stream()
+                    .filter(r -> r.getStatus() == BulkAssignResult.Status.ASSIGNED && byId.get(r.getInterventionId()) == 0)
+                    .forEach(r -> {
+                        r.setStatus(BulkAssignResult.Status.SKIPPED);
+                        r.setTechnicienId(null);
+                    });
+        }
+        if (ids != null) {
+            Set<Long> candidates = new HashSet<>();
+            tasks.forEach(task -> candidates.add(task.id()));
+            ids.stream().filter(id -> !candidates.contains(id))
+                    .forEach(id -> rows.add(row(id, null, BulkAssignResult.Status.SKIPPED)));
+        }
+        return result(rows, solution, System.nanoTime() - start);
+    }
+
+    private List<AssignmentSolver.Task> loadCandidates(List<Long> ids, LocalDateTime now) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql;
+        if (ids == null) {
+            sql = CANDIDATES_SQL + " ORDER BY date_echeance NULLS LAST, id LIMIT :limit";
+            params.addValue("limit", maxBatch);
+        } else if (ids.isEmpty()) {
+            return List.of();
+        } else {
+            sql = CANDIDATES_SQL + " AND id IN (:ids) ORDER BY id";
+            params.addValue("ids", ids);
+        }
+        double workingRatio = hoursPerDay / 24;
+        return jdbcTemplate.query(sql, params, (rs, i) -> {
+            Timestamp echeance = rs.getTimestamp("date_echeance");
+            double due = echeance == null ? Double.POSITIVE_INFINITY
+                    : Duration.between(now, echeance.toLocalDateTime()).toMinutes() / 60.0 * workingRatio;
+            Double duree = rs.getObject("duree_estimee", Double.class);
+            String priorite = rs.getString("priorite");
+            return new AssignmentSolver.Task(rs.getLong("id"),
+                    duree == null || duree <= 0 ? defaultDuration : duree,
+                    due,
+                    weight(priorite != null ? Intervention.PrioriteIntervention.valueOf(priorite) : null),
+                    rs.getObject("service_direction_id", Long.class));
+        });
+    }
+
+    // Heures libres = capacité ouvrée de la période - créneaux occupés - interventions ouvertes non planifiées
+    private List<TechnicianAvailability> loadAvailability(LocalDateTime from, LocalDateTime to) {
+        List<TechnicianAvailability> technicians = jdbcTemplate.query(TECHNICIANS_SQL, (rs, i) ->
+                TechnicianAvailability.builder()
+                        .id(rs.getObject("id", UUID.class))
+                        .firstName(rs.getString("first_name"))
+                        .lastName(rs.getString("last_name"))
+                        .email(rs.getString("email"))
+                        .build());
+        if (technicians.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<UUID> ids = technicians.stream().map(TechnicianAvailability::getId).toList();
+        Map<UUID, Double> busy = new HashMap<>();
+        for (FreeBusy freeBusy : calendarService.freeBusy(ids, from, to)) {
+            double hours = 0;
+            for (FreeBusy.Slot slot : freeBusy.getBusy()) {
+                // Un créneau sur plusieurs jours ne compte qu'une journée ouvrée par jour couvert
+                double slotHours = Duration.between(slot.debut(), slot.fin()).toMinutes() / 60.0;
+                long days = slot.fin().toLocalDate().toEpochDay() - slot.debut().toLocalDate().toEpochDay() + 1;
+                hours += Math.min(slotHours, days * hoursPerDay);
+            }
+            busy.put(freeBusy.getTechnicienId(), hours);
+        }
+        Map<UUID, double[]> backlog = new HashMap<>();
+        jdbcTemplate.query(BACKLOG_SQL,
+                new MapSqlParameterSource().addValue("ids", ids).addValue("defaultDuration", defaultDuration),
+                rs -> {
+                    backlog.put(rs.getObject("technicien_assigne_id", UUID.class),
+                            new double[]{rs.getLong("n"), rs.getDouble("backlog")});
+                });
+
+        double capacity = Math.ceil(Duration.between(from, to).toMinutes() / (24 * 60.0)) * hoursPerDay;
+        for (TechnicianAvailability technician : technicians) {
+            double[] open = backlog.getOrDefault(technician.getId(), new double[2]);
+            double busyHours = busy.getOrDefault(technician.getId(), 0.0);
+            technician.setBusyHours(busyHours);
+            technician.setOpenInterventions((long) open[0]);
+            technician.setFreeHours(Math.max(0, capacity - busyHours - open[1]));
+        }
+        return new ArrayList<>(technicians);
+    }
+
+    // Part des interventions récentes de chaque technicien par service
+    private Map<UUID, Map<Long, Double>> loadAffinity(List<TechnicianAvailability> technicians, LocalDateTime since) {
+        Map<UUID, Map<Long, Double>> counts = new HashMap<>();
+        if (technicians.isEmpty()) {
+            return counts;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", technicians.stream().map(TechnicianAvailability::getId).toList())
+                .addValue("since", Timestamp.valueOf(since));
+        jdbcTemplate.query(AFFINITY_SQL, params, rs -> {
+            counts.computeIfAbsent(rs.getObject("technicien_assigne_id", UUID.class), k -> new HashMap<>())
+                    .put(rs.getLong("service_direction_id"), (double) rs.getLong("n"));
+        });
+        counts.values().forEach(byService -> {
+            double total = byService.values().stream().mapToDouble(Double::doubleValue).sum();
+            byService.replaceAll((service, n) -> n / total);
+        });
+        return counts;
+    }
+
+    private static int weight(Intervention.PrioriteIntervention priorite) {
+        if (priorite == null) {
+            return 2;
+        }
+        return switch (priorite) {
+            case CRITIQUE -> 8;
+            case HAUTE -> 4;
+            case MOYENNE -> 2;
+            case BASSE -> 1;
+        };
+    }
+
+    private static BulkAssignResult.Row row(Long id, UUID technicienId, BulkAssignResult.Status status) {
+        return BulkAssignResult.Row.builder().interventionId(id).technicienId(technicienId).status(status).build();
+    }
+
+    private static BulkAssignResult result(List<BulkAssignResult.Row> rows, AssignmentSolver.Solution solution, long nanos) {
+        return BulkAssignResult.builder()
+                .rows(rows)
+                .total(rows.size())
+                .assigned(count(rows, BulkAssignResult.Status.ASSIGNED))
+                .skipped(count(rows, BulkAssignResult.Status.SKIPPED))
+                .unassignable(count(rows, BulkAssignResult.Status.UNASSIGNABLE))
+                .greedyCost(solution != null ? solution.greedyCost() : null)
+                .cost(solution != null ? solution.cost() : null)
+                .moves(solution != null ? solution.moves() : 0)
+                .durationMillis(nanos / 1_000_000)
+                .build();
+    }
+
+    private static int count(List<BulkAssignResult.Row> rows, BulkAssignResult.Status status) {
+        return (int) rows.stream().filter(r -> r.getStatus() == status).count();
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.gactifs.Intervention.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Intervention.calendar.InterventionCalendarSchema;
+import org.example.gactifs.Intervention.dto.CalendarEntry;
+import org.example.gactifs.Intervention.dto.CalendarView;
+import org.example.gactifs.Intervention.dto.FreeBusy;
+import org.example.gactifs.Intervention.model.Intervention;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Vues calendrier des interventions : requêtes de chevauchement (&&) entre la période de chaque
+ * intervention et la fenêtre demandée, servies par l'index GiST sur cette période
+ * (coût logarithmique en fonction de l'historique, plus le nombre de résultats).
+ */
+@Service
+@RequiredArgsConstructor
+public class InterventionCalendarService {
+
+    private static final String OVERLAPS =
+            "(" + InterventionCalendarSchema.PERIODE.replace("date_", "i.date_") + ") && tsrange(:from, :to, '[)') " +
+            "AND i.date_debut IS NOT NULL AND i.statut <> 'ANNULEE'";
+
+    private static final String CALENDAR_SQL =
+            "SELECT i.id, i.numero, i.titre, i.type_intervention, i.priorite, i.statut, i.date_debut, i.date_fin, " +
+            "i.technicien_assigne_id, u.first_name, u.last_name, i.service_direction_id, s.nom AS service_nom, " +
+            "i.asset_id, a.nom AS asset_nom " +
+            "FROM interventions i " +
+            "LEFT JOIN users u ON u.id = i.technicien_assigne_id " +
+            "LEFT JOIN service_direction s ON s.id = i.service_direction_id " +
+            "LEFT JOIN asset a ON a.id = i.asset_id " +
+            "WHERE " + OVERLAPS;
+
+    private static final String BUSY_SQL =
+            "SELECT i.technicien_assigne_id, i.date_debut, greatest(i.date_debut, coalesce(i.date_fin, i.date_debut)) AS fin " +
+            "FROM interventions i WHERE " + OVERLAPS + " AND i.technicien_assigne_id IN (:technicienIds) " +
+            "ORDER BY i.technicien_assigne_id, i.date_debut";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${application.interventions.calendar.max-entries:2000}")
+    private int maxEntries;
+
+    public CalendarView calendar(LocalDateTime from, LocalDateTime to, UUID technicienId, Long serviceId) {
+        checkWindow(from, to);
+        StringBuilder sql = new StringBuilder(CALENDAR_SQL);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", Timestamp.valueOf(from))
+                .addValue("to", Timestamp.valueOf(to))
+                .addValue("limit", maxEntries + 1);
+        if (technicienId != null) {
+            sql.append(" AND i.technicien_assigne_id = :technicienId");
+            params.addValue("technicienId", technicienId);
+        }
+        if (serviceId != null) {
+            sql.append(" AND i.service_direction_id = :serviceId");
+            params.addValue("serviceId", serviceId);
+        }
+        sql.append(" ORDER BY i.date_debut, i.id LIMIT :limit");
+
+        List<CalendarEntry> entries = jdbcTemplate.query(sql.toString(), params, (rs, i) -> toEntry(rs));
+        boolean truncated = entries.size() > maxEntries;
+        return CalendarView.builder()
+                .from(from)
+                .to(to)
+                .entries(truncated ? entries.subList(0, maxEntries) : entries)
+                .truncated(truncated)
+                .build();
+    }
+
+    // Créneaux occupés fusionnés par technicien, et leur complément dans [from, to)
+    public List<FreeBusy> freeBusy(Collection<UUID> technicienIds, LocalDateTime from, LocalDateTime to) {
+        checkWindow(from, to);
+        if (technicienIds == null || technicienIds.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, List<FreeBusy.Slot>> busy = new LinkedHashMap<>();
+        technicienIds.forEach(id -> busy.put(id, new ArrayList<>()));
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", Timestamp.valueOf(from))
+                .addValue("to", Timestamp.valueOf(to))
+                .addValue("technicienIds", technicienIds);
+        jdbcTemplate.query(BUSY_SQL, params, rs -> {
+            UUID technicien = rs.getObject("technicien_assigne_id", UUID.class);
+            LocalDateTime debut = max(rs.getTimestamp("date_debut").toLocalDateTime(), from);
+            LocalDateTime fin = min(rs.getTimestamp("fin").toLocalDateTime(), to);
+            List<FreeBusy.Slot> slots = busy.get(technicien);
+            FreeBusy.Slot last = slots.isEmpty() ? null : slots.get(slots.size() - 1);
+            if (last != null && !debut.isAfter(last.fin())) {
+                slots.set(slots.size() - 1, new FreeBusy.Slot(last.debut(), max(last.fin(), fin)));
+            } else {
+                slots.add(new FreeBusy.Slot(debut, fin));
+            }
+        });
+
+        List<FreeBusy> result = new ArrayList<>(busy.size());
+        busy.forEach((technicien, slots) -> {
+            List<FreeBusy.Slot> free = new ArrayList<>();
+            LocalDateTime cursor = from;
+            for (FreeBusy.Slot slot : slots) {
+                if (slot.debut().isAfter(cursor)) {
+                    free.add(new FreeBusy.Slot(cursor, slot.debut()));
+                }
+                cursor = max(cursor, slot.fin());
+            }
+            if (cursor.isBefore(to)) {
+                free.add(new FreeBusy.Slot(cursor, to));
+            }
+            result.add(FreeBusy.builder().technicienId(technicien).busy(slots).free(free).build());
+        });
+        return result;
+    }
+
+    private static void checkWindow(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("Période invalide : startDate doit précéder endDate");
+        }
+    }
+
+    private static CalendarEntry toEntry(ResultSet rs) throws SQLException {
+        Timestamp fin = rs.getTimestamp("date_fin");
+        return CalendarEntry.builder()
+                .id(rs.getLong("id"))
+                .numero(rs.getString("numero"))
+                .titre(rs.getString("titre"))
+                .typeIntervention(enumOf(Intervention.TypeIntervention.class, rs.getString("type_intervention")))
+                .priorite(enumOf(Intervention.PrioriteIntervention.class, rs.getString("priorite")))
+                .statut(enumOf(Intervention.StatutIntervention.class, rs.getString("statut")))
+                .dateDebut(rs.getTimestamp("date_debut").toLocalDateTime())
+                .dateFin(fin != null ? fin.toLocalDateTime() : null)
+                .technicienId(rs.getObject("technicien_assigne_id", UUID.class))
+                .technicienPrenom(rs.getString("first_name"))
+                .technicienNom(rs.getString("last_name"))
+                .serviceDirectionId(rs.getObject("service_direction_id", Long.class))
+                .serviceDirectionNom(rs.getString("service_nom"))
+                .assetId(rs.getObject("asset_id", Long.class))
+                .assetNom(rs.getString("asset_nom"))
+                .build();
+    }
+
+    private static <E extends Enum<E>> E enumOf(Class<E> type, String value) {
+        return value == null ? null : Enum.valueOf(type, value);
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
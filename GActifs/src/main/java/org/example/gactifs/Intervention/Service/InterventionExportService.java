@@ -0,0 +1,111 @@
+package org.example.gactifs.Intervention.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Intervention.dto.InterventionFilter;
+import org.example.gactifs.common.export.ExportFormat;
+import org.example.gactifs.common.export.TableExporter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Export Excel / PDF des interventions filtrées, lues au fil du curseur (voir TableExporter)
+@Service
+@RequiredArgsConstructor
+public class InterventionExportService {
+
+    private static final List<String> HEADERS = List.of("Numéro", "Titre", "Type", "Priorité", "Statut",
+            "Actif", "Référence actif", "Technicien", "Service", "Création", "Début", "Fin", "Échéance",
+            "Durée estimée (h)", "Durée réelle (h)", "Coût");
+
+    private static final String SELECT =
+            "SELECT i.numero, i.titre, i.type_intervention, i.priorite, i.statut, a.nom AS asset_nom, a.reference, " +
+            "concat_ws(' ', u.first_name, u.last_name) AS technicien, s.nom AS service_nom, i.date_creation, " +
+            "i.date_debut, i.date_fin, i.date_echeance, i.duree_estimee, i.duree_reelle, i.cout " +
+            "FROM interventions i " +
+            "LEFT JOIN asset a ON a.id = i.asset_id " +
+            "LEFT JOIN users u ON u.id = i.technicien_assigne_id " +
+            "LEFT JOIN service_direction s ON s.id = i.service_direction_id " +
+            "WHERE 1 = 1";
+
+    private final TableExporter exporter;
+
+    public long export(InterventionFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder(SELECT);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (filter.getStatuts() != null && !filter.getStatuts().isEmpty()) {
+            sql.append(" AND i.statut IN (:statuts)");
+            params.addValue("statuts", filter.getStatuts().stream().map(Enum::name).toList());
+        }
+        if (filter.getPriorite() != null) {
+            sql.append(" AND i.priorite = :priorite");
+            params.addValue("priorite", filter.getPriorite().name());
+        }
+        if (filter.getType() != null) {
+            sql.append(" AND i.type_intervention = :type");
+            params.addValue("type", filter.getType().name());
+        }
+        if (filter.getTechnicienId() != null) {
+            sql.append(" AND i.technicien_assigne_id = :technicienId");
+            params.addValue("technicienId", filter.getTechnicienId());
+        }
+        if (filter.getServiceId() != null) {
+            sql.append(" AND i.service_direction_id = :serviceId");
+            params.addValue("serviceId", filter.getServiceId());
+        }
+        if (filter.getAssetId() != null) {
+            sql.append(" AND i.asset_id = :assetId");
+            params.addValue("assetId", filter.getAssetId());
+        }
+        if (filter.getTitre() != null && !filter.getTitre().isBlank()) {
+            sql.append(" AND lower(i.titre) LIKE :titre");
+            params.addValue("titre", "%" + filter.getTitre().trim().toLowerCase() + "%");
+        }
+        range(sql, params, "i.date_creation", "created", filter.getCreatedFrom(), filter.getCreatedTo());
+        range(sql, params, "i.date_debut", "debut", filter.getDebutFrom(), filter.getDebutTo());
+        range(sql, params, "i.date_echeance", "echeance", filter.getEcheanceFrom(), filter.getEcheanceTo());
+        sql.append(" ORDER BY i.date_creation DESC NULLS LAST, i.id DESC");
+
+        return exporter.export(format, out, "Interventions", HEADERS, sql.toString(), params, InterventionExportService::row);
+    }
+
+    private static void range(StringBuilder sql, MapSqlParameterSource params, String column, String name,
+                              LocalDateTime from, LocalDateTime to) {
+        if (from != null) {
+            sql.append(" AND ").append(column).append(" >= :").append(name).append("From");
+            params.addValue(name + "From", Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND ").append(column).append(" < :").append(name).append("To");
+            params.addValue(name + "To", Timestamp.valueOf(to));
+        }
+    }
+
+    private static Object[] row(ResultSet rs) throws SQLException {
+        String technicien = rs.getString("technicien");
+        return new Object[]{
+                rs.getString("numero"),
+                rs.getString("titre"),
+                rs.getString("type_intervention"),
+                rs.getString("priorite"),
+                rs.getString("statut"),
+                rs.getString("asset_nom"),
+                rs.getString("reference"),
+                technicien != null && !technicien.isBlank() ? technicien : null,
+                rs.getString("service_nom"),
+                rs.getObject("date_creation", LocalDateTime.class),
+                rs.getObject("date_debut", LocalDateTime.class),
+                rs.getObject("date_fin", LocalDateTime.class),
+                rs.getObject("date_echeance", LocalDateTime.class),
+                rs.getObject("duree_estimee", Double.class),
+                rs.getObject("duree_reelle", Double.class),
+                rs.getObject("cout", Double.class)
+        };
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.gactifs.Intervention.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Intervention.dto.InterventionDTO;
+import org.example.gactifs.Intervention.dto.InterventionFilter;
+import org.example.gactifs.Intervention.lifecycle.InterventionLifecycle;
+import org.example.gactifs.Intervention.model.Intervention;
+import org.example.gactifs.Intervention.repository.InterventionQueryRepository;
+import org.example.gactifs.Intervention.repository.InterventionRepository;
+import org.example.gactifs.Intervention.stats.InterventionStatsRollup;
+import org.example.gactifs.asset.dto.KeysetPage;
+import org.example.gactifs.asset.repository.AssetRepository;
+import org.example.gactifs.asset.repository.ServiceDirectionRepository;
+import org.example.gactifs.auth.repository.UserRepository;
+import org.example.gactifs.common.numbering.NumberingService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class InterventionService {
+
+    public static final Set<Intervention.StatutIntervention> OPEN = EnumSet.of(
+            Intervention.StatutIntervention.PLANIFIEE, Intervention.StatutIntervention.EN_ATTENTE,
+            Intervention.StatutIntervention.EN_COURS, Intervention.StatutIntervention.SUSPENDUE);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final InterventionRepository interventionRepository;
+    private final InterventionQueryRepository interventionQueryRepository;
+    private final AssetRepository assetRepository;
+    private final UserRepository userRepository;
+    private final ServiceDirectionRepository serviceDirectionRepository;
+    private final NumberingService numberingService;
+    private final InterventionStatsRollup statsRollup;
+
+    public KeysetPage<InterventionDTO> search(InterventionFilter filter, String cursor, int size) {
+        return interventionQueryRepository.find(filter, InterventionQueryRepository.Order.RECENT, cursor, pageSize(size));
+    }
+
+    public InterventionDTO getById(Long id) {
+        return interventionQueryRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Intervention non trouvée"));
+    }
+
+    // Ouvertes dont l'échéance est passée, de la plus en retard à la plus récente
+    public KeysetPage<InterventionDTO> getOverdue(String cursor, int size) {
+        InterventionFilter filter = InterventionFilter.builder()
+                .statuts(OPEN)
+                .echeanceTo(LocalDateTime.now())
+                .build();
+        return interventionQueryRepository.find(filter, InterventionQueryRepository.Order.ECHEANCE, cursor, pageSize(size));
+    }
+
+    public KeysetPage<InterventionDTO> getUpcoming(int days, String cursor, int size) {
+        LocalDateTime now = LocalDateTime.now();
+        InterventionFilter filter = InterventionFilter.builder()
+                .statuts(OPEN)
+                .echeanceFrom(now)
+                .echeanceTo(now.plusDays(Math.max(days, 1)))
+                .build();
+        return interventionQueryRepository.find(filter, InterventionQueryRepository.Order.ECHEANCE, cursor, pageSize(size));
+    }
+
+    public KeysetPage<InterventionDTO> getCritical(String cursor, int size) {
+        InterventionFilter filter = InterventionFilter.builder()
+                .statuts(OPEN)
+                .priorite(Intervention.PrioriteIntervention.CRITIQUE)
+                .build();
+        return interventionQueryRepository.find(filter, InterventionQueryRepository.Order.RECENT, cursor, pageSize(size));
+    }
+
+    @Transactional
+    public InterventionDTO create(InterventionDTO dto, String actor) {
+        Intervention intervention = new Intervention();
+        apply(intervention, dto);
+        intervention.setNumero(numberingService.nextInterventionNumero());
+        intervention.setDateCreation(LocalDateTime.now());
+        // Les statuts suivants passent par InterventionStatusService (dates, historique)
+        intervention.setStatut(InterventionLifecycle.initial(dto.getStatut()));
+        intervention.setCreePar(actor);
+        Long id = interventionRepository.saveAndFlush(intervention).getId();
+        statsRollup.add(List.of(id));
+        return getById(id);
+    }
+
+    // Retrait de l'ancienne contribution aux agrégats avant la modification, ajout de la nouvelle après
+    @Transactional
+    public InterventionDTO update(Long id, InterventionDTO dto) {
+        statsRollup.remove(List.of(id));
+        Intervention intervention = load(id);
+        apply(intervention, dto);
+        interventionRepository.saveAndFlush(intervention);
+        statsRollup.add(List.of(id));
+        return getById(id);
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        statsRollup.remove(List.of(id));
+        interventionRepository.deleteById(id);
+    }
+
+    Intervention load(Long id) {
+        return interventionRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Intervention non trouvée"));
+    }
+
+    // Les entités liées sont référencées par id (getReferenceById) sans être chargées
+    private void apply(Intervention intervention, InterventionDTO dto) {
+        intervention.setTitre(dto.getTitre());
+        intervention.setDescription(dto.getDescription());
+        intervention.setTypeIntervention(dto.getTypeIntervention());
+        intervention.setPriorite(dto.getPriorite());
+        intervention.setDateDebut(dto.getDateDebut());
+        intervention.setDateFin(dto.getDateFin());
+        intervention.setDateEcheance(dto.getDateEcheance());
+        intervention.setDureeEstimee(dto.getDureeEstimee());
+        intervention.setDureeReelle(dto.getDureeReelle());
+        intervention.setCout(dto.getCout());
+        intervention.setAsset(dto.getAssetId() != null ? assetRepository.getReferenceById(dto.getAssetId()) : null);
+        intervention.setTechnicienAssigne(dto.getTechnicienId() != null ? userRepository.getReferenceById(dto.getTechnicienId()) : null);
+        intervention.setServiceDirection(dto.getServiceDirectionId() != null
+                ? serviceDirectionRepository.getReferenceById(dto.getServiceDirectionId()) : null);
+    }
+
+    private static int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+}
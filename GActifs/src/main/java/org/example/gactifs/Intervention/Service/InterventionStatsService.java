@@ -0,0 +1,154 @@
+package org.example.gactifs.Intervention.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Intervention.dto.InterventionStats;
+import org.example.gactifs.Intervention.model.Intervention;
+import org.example.gactifs.Intervention.stats.InterventionStatsRollup;
+import org.example.gactifs.Intervention.stats.InterventionStatsSchema;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Statistiques d'interventions lues dans les agrégats journaliers (fusion des cellules de la période)
+ * au lieu d'un parcours de la table. Seul « en retard », qui dépend de l'heure courante, est compté
+ * en direct sur l'index (statut, date_echeance).
+ */
+@Service
+@RequiredArgsConstructor
+public class InterventionStatsService {
+
+    public enum Granularite {
+        JOUR("day"), SEMAINE("week"), MOIS("month");
+
+        private final String unit;
+
+        Granularite(String unit) {
+            this.unit = unit;
+        }
+    }
+
+    private static final String SUMS =
+            "sum(total) AS total, sum(planifiees) AS planifiees, sum(en_attente) AS en_attente, sum(en_cours) AS en_cours, " +
+            "sum(suspendues) AS suspendues, sum(terminees) AS terminees, sum(annulees) AS annulees, " +
+            "sum(validees) AS validees, sum(critiques) AS critiques, sum(avec_cout) AS avec_cout, " +
+            "sum(somme_cout) AS somme_cout, sum(durees) AS durees, sum(somme_duree_reelle) AS somme_duree_reelle, " +
+            "sum(somme_reelle_comparee) AS somme_reelle_comparee, sum(somme_estimee_comparee) AS somme_estimee_comparee, " +
+            "sum(closes_avec_echeance) AS closes_avec_echeance, sum(closes_a_temps) AS closes_a_temps";
+
+    private static final String OVERDUE =
+            "count(*) FROM interventions WHERE statut IN (" + InterventionService.OPEN.stream()
+                    .map(s -> "'" + s.name() + "'").collect(Collectors.joining(", ")) + ") " +
+            "AND date_echeance < :now AND date_creation IS NOT NULL";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final InterventionStatsRollup rollup;
+
+    public InterventionStats get(Long serviceId, Intervention.TypeIntervention type, UUID technicienId) {
+        return getForPeriod(null, null, serviceId, type, technicienId);
+    }
+
+    // Période [from, to] en jours de création ; bornes nulles : sans limite
+    public InterventionStats getForPeriod(LocalDate from, LocalDate to, Long serviceId,
+                                          Intervention.TypeIntervention type, UUID technicienId) {
+        Filter filter = new Filter(from, to, serviceId, type, technicienId);
+        InterventionStats stats = jdbcTemplate.queryForObject(
+                "SELECT " + SUMS + " FROM " + InterventionStatsSchema.TABLE + " WHERE " + filter.rollup,
+                filter.params, (rs, i) -> toStats(rs, null));
+        Long overdue = jdbcTemplate.queryForObject("SELECT " + OVERDUE + filter.live, filter.params, Long.class);
+        stats.setEnRetard(overdue != null ? overdue : 0);
+        return stats;
+    }
+
+    public List<InterventionStats> getSeries(LocalDate from, LocalDate to, Granularite granularite, Long serviceId,
+                                             Intervention.TypeIntervention type, UUID technicienId) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Période invalide : startDate doit précéder endDate");
+        }
+        Filter filter = new Filter(from, to, serviceId, type, technicienId);
+        String bucket = "date_trunc('" + granularite.unit + "', %s)::date";
+        List<InterventionStats> series = jdbcTemplate.query(
+                "SELECT " + String.format(bucket, "jour") + " AS periode, " + SUMS + " FROM " + InterventionStatsSchema.TABLE +
+                " WHERE " + filter.rollup + " GROUP BY 1 ORDER BY 1",
+                filter.params, (rs, i) -> toStats(rs, rs.getDate("periode").toLocalDate()));
+        Map<LocalDate, Long> overdue = new HashMap<>();
+        jdbcTemplate.query("SELECT " + String.format(bucket, "date_creation") + " AS periode, " + OVERDUE + filter.live +
+                " GROUP BY 1", filter.params, rs -> {
+            overdue.put(rs.getDate("periode").toLocalDate(), rs.getLong(2));
+        });
+        series.forEach(s -> s.setEnRetard(overdue.getOrDefault(s.getPeriode(), 0L)));
+        return series;
+    }
+
+    public void rebuild() {
+        rollup.rebuild();
+    }
+
+    // Mêmes critères exprimés sur la table d'agrégats et sur interventions
+    private static final class Filter {
+        final StringBuilder rollup = new StringBuilder("true");
+        final StringBuilder live = new StringBuilder();
+        final MapSqlParameterSource params = new MapSqlParameterSource("now", Timestamp.valueOf(LocalDateTime.now()));
+
+        Filter(LocalDate from, LocalDate to, Long serviceId, Intervention.TypeIntervention type, UUID technicienId) {
+            if (from != null) {
+                rollup.append(" AND jour >= :from");
+                live.append(" AND date_creation >= :fromTs");
+                params.addValue("from", Date.valueOf(from)).addValue("fromTs", Timestamp.valueOf(from.atStartOfDay()));
+            }
+            if (to != null) {
+                rollup.append(" AND jour <= :to");
+                live.append(" AND date_creation < :toTs");
+                params.addValue("to", Date.valueOf(to)).addValue("toTs", Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+            }
+            if (serviceId != null) {
+                rollup.append(" AND service_id = :serviceId");
+                live.append(" AND service_direction_id = :serviceId");
+                params.addValue("serviceId", serviceId);
+            }
+            if (type != null) {
+                rollup.append(" AND type_intervention = :type");
+                live.append(" AND type_intervention = :type");
+                params.addValue("type", type.name());
+            }
+            if (technicienId != null) {
+                rollup.append(" AND technicien_id = :technicienId");
+                live.append(" AND technicien_assigne_id = :technicienId");
+                params.addValue("technicienId", technicienId);
+            }
+        }
+    }
+
+    private static InterventionStats toStats(ResultSet rs, LocalDate periode) throws SQLException {
+        long avecCout = rs.getLong("avec_cout");
+        long durees = rs.getLong("durees");
+        double estimee = rs.getDouble("somme_estimee_comparee");
+        long closes = rs.getLong("closes_avec_echeance");
+        return InterventionStats.builder()
+                .periode(periode)
+                .total(rs.getLong("total"))
+                .planifiees(rs.getLong("planifiees"))
+                .enAttente(rs.getLong("en_attente"))
+                .enCours(rs.getLong("en_cours"))
+                .suspendues(rs.getLong("suspendues"))
+                .terminees(rs.getLong("terminees"))
+                .annulees(rs.getLong("annulees"))
+                .validees(rs.getLong("validees"))
+                .critiques(rs.getLong("critiques"))
+                .coutTotal(rs.getDouble("somme_cout"))
+                .coutMoyen(avecCout > 0 ? rs.getDouble("somme_cout") / avecCout : null)
+                .dureeMoyenne(durees > 0 ? rs.getDouble("somme_duree_reelle") / durees : null)
+                .ratioDureeReelleEstimee(estimee > 0 ? rs.getDouble("somme_reelle_comparee") / estimee : null)
+                .tauxRespectEcheance(closes > 0 ? (double) rs.getLong("closes_a_temps") / closes : null)
+                .build();
+    }
+}
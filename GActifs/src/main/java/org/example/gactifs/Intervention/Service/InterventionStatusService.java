@@ -0,0 +1,159 @@
+package org.example.gactifs.Intervention.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Intervention.dto.BulkStatusResult;
+import org.example.gactifs.Intervention.dto.InterventionDTO;
+import org.example.gactifs.Intervention.lifecycle.InterventionLifecycle;
+import org.example.gactifs.Intervention.lifecycle.TransitionRefusedException;
+import org.example.gactifs.Intervention.model.Intervention.StatutIntervention;
+import org.example.gactifs.Intervention.model.InterventionHistory;
+import org.example.gactifs.Intervention.repository.InterventionHistoryRepository;
+import org.example.gactifs.Intervention.stats.InterventionStatsRollup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Changements de statut, unitaires ou en masse, validés contre {@link InterventionLifecycle}.
+ * <p>
+ * Les lignes sont verrouillées et lues une fois, les transitions vérifiées en mémoire, puis une seule
+ * requête par statut d'origine applique la mise à jour conditionnelle (statut = origine) et insère
+ * l'historique des lignes effectivement modifiées (UPDATE ... RETURNING chaîné dans un INSERT).
+ */
+@Service
+@RequiredArgsConstructor
+public class InterventionStatusService {
+
+    private static final String LOCK_SQL = "SELECT id, statut FROM interventions WHERE id IN (:ids) FOR UPDATE";
+
+    private static final String TRANSITION_SQL =
+            "WITH changed AS (" +
+            "  UPDATE interventions SET statut = :to%s WHERE id IN (:ids) AND statut = :from RETURNING id" +
+            "), history AS (" +
+            "  INSERT INTO intervention_history (intervention_id, ancien_statut, nouveau_statut, commentaire, auteur, date_changement) " +
+            "  SELECT id, :from, :to, :commentaire, :auteur, CAST(:now AS timestamp) FROM changed" +
+            ") SELECT id FROM changed";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final InterventionStatsRollup statsRollup;
+    private final InterventionHistoryRepository historyRepository;
+    private final InterventionService interventionService;
+
+    @Value("${application.interventions.bulk.max-items:10000}")
+    private int maxItems;
+
+    // Transition d'une seule intervention : un refus est une erreur (404 / 409) plutôt qu'une ligne de résultat
+    @Transactional
+    public InterventionDTO transition(Long id, StatutIntervention to, String actor, String reason, Double dureeReelle) {
+        BulkStatusResult.Row row = transition(List.of(id), to, actor, reason, dureeReelle).getRows().get(0);
+        switch (row.getOutcome()) {
+            case NOT_FOUND -> throw new NoSuchElementException("Intervention non trouvée");
+            case REFUSED -> throw new TransitionRefusedException(row.getMessage());
+            default -> {
+                return interventionService.getById(id);
+            }
+        }
+    }
+
+    @Transactional
+    public BulkStatusResult transition(Collection<Long> requested, StatutIntervention to, String actor,
+                                       String reason, Double dureeReelle) {
+        long start = System.nanoTime();
+        if (to == null) {
+            throw new IllegalArgumentException("Le statut cible est obligatoire");
+        }
+        List<Long> ids = requested == null ? List.of()
+                : requested.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.size() > maxItems) {
+            throw new IllegalArgumentException("Au plus " + maxItems + " interventions par opération");
+        }
+
+        Map<Long, StatutIntervention> current = new HashMap<>();
+        if (!ids.isEmpty()) {
+            jdbcTemplate.query(LOCK_SQL, new MapSqlParameterSource("ids", ids), rs -> {
+                String statut = rs.getString("statut");
+                current.put(rs.getLong("id"), statut != null ? StatutIntervention.valueOf(statut) : null);
+            });
+        }
+
+        Map<Long, BulkStatusResult.Row> rows = new LinkedHashMap<>();
+        Map<StatutIntervention, List<Long>> bySource = new EnumMap<>(StatutIntervention.class);
+        for (Long id : ids) {
+            BulkStatusResult.Row row = BulkStatusResult.Row.builder().interventionId(id).build();
+            rows.put(id, row);
+            if (!current.containsKey(id)) {
+                row.setOutcome(BulkStatusResult.Outcome.NOT_FOUND);
+                continue;
+            }
+            StatutIntervention from = current.get(id);
+            row.setAncienStatut(from);
+            if (from == to) {
+                row.setOutcome(BulkStatusResult.Outcome.UNCHANGED);
+            } else if (!InterventionLifecycle.allowed(from, to)) {
+                row.setOutcome(BulkStatusResult.Outcome.REFUSED);
+                row.setMessage("Transition " + from + " → " + to + " interdite ; possibles : " + InterventionLifecycle.next(from));
+            } else {
+                bySource.computeIfAbsent(from, k -> new ArrayList<>()).add(id);
+            }
+        }
+
+        List<Long> movable = bySource.values().stream().flatMap(List::stream).toList();
+        statsRollup.remove(movable);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        bySource.forEach((from, group) -> {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("ids", group)
+                    .addValue("from", from.name())
+                    .addValue("to", to.name())
+                    .addValue("now", now)
+                    .addValue("commentaire", reason)
+                    .addValue("auteur", actor)
+                    .addValue("dureeReelle", dureeReelle);
+            Set<Long> changed = new HashSet<>(jdbcTemplate.queryForList(
+                    String.format(TRANSITION_SQL, sideEffects(to)), params, Long.class));
+            for (Long id : group) {
+                // Lignes verrouillées plus haut : le statut lu est encore celui de la base
+                rows.get(id).setOutcome(changed.contains(id) ? BulkStatusResult.Outcome.APPLIED : BulkStatusResult.Outcome.REFUSED);
+            }
+        });
+        statsRollup.add(movable);
+
+        List<BulkStatusResult.Row> result = new ArrayList<>(rows.values());
+        return BulkStatusResult.builder()
+                .statut(to)
+                .rows(result)
+                .total(result.size())
+                .applied(count(result, BulkStatusResult.Outcome.APPLIED))
+                .unchanged(count(result, BulkStatusResult.Outcome.UNCHANGED))
+                .refused(count(result, BulkStatusResult.Outcome.REFUSED))
+                .notFound(count(result, BulkStatusResult.Outcome.NOT_FOUND))
+                .durationMillis((System.nanoTime() - start) / 1_000_000)
+                .build();
+    }
+
+    public List<InterventionHistory> getHistory(Long id) {
+        return historyRepository.findByInterventionIdOrderByDateChangementDescIdDesc(id);
+    }
+
+    // Dates renseignées selon le statut atteint ; la première date de début est conservée
+    private static String sideEffects(StatutIntervention to) {
+        return switch (to) {
+            case EN_COURS -> ", date_debut = coalesce(date_debut, CAST(:now AS timestamp)), date_fin = NULL";
+            case TERMINEE -> ", date_fin = CAST(:now AS timestamp), duree_reelle = coalesce(CAST(:dureeReelle AS double precision), " +
+                    "round(CAST(extract(epoch FROM (CAST(:now AS timestamp) - coalesce(date_debut, CAST(:now AS timestamp)))) / 3600.0 " +
+                    "AS numeric), 2))";
+            case VALIDEE -> ", date_validation = CAST(:now AS timestamp), validateur = :auteur";
+            default -> "";
+        };
+    }
+
+    private static int count(List<BulkStatusResult.Row> rows, BulkStatusResult.Outcome outcome) {
+        return (int) rows.stream().filter(r -> r.getOutcome() == outcome).count();
+    }
+}
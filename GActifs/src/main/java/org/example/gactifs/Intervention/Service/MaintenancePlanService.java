@@ -0,0 +1,149 @@
+package org.example.gactifs.Intervention.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Intervention.dto.MaintenancePlanDto;
+import org.example.gactifs.Intervention.model.MaintenancePlan;
+import org.example.gactifs.Intervention.repository.InterventionRepository;
+import org.example.gactifs.Intervention.repository.MaintenancePlanRepository;
+import org.example.gactifs.Intervention.stats.InterventionStatsRollup;
+import org.example.gactifs.asset.models.Asset;
+import org.example.gactifs.asset.repository.AssetRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class MaintenancePlanService {
+
+    // Occurrences futures pas encore prises en charge : supprimées quand la récurrence change
+    private static final String PURGEABLE_SQL =
+            "SELECT id FROM interventions WHERE plan_id = ? AND statut = 'PLANIFIEE' " +
+            "AND technicien_assigne_id IS NULL AND date_occurrence >= ?";
+
+    private static final String DETACH_SQL = "UPDATE interventions SET plan_id = NULL WHERE plan_id = ?";
+
+    private final MaintenancePlanRepository planRepository;
+    private final AssetRepository assetRepository;
+    private final InterventionRepository interventionRepository;
+    private final InterventionStatsRollup statsRollup;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public List<MaintenancePlanDto> getAll() {
+        return planRepository.findAllByOrderByNomAsc().stream().map(MaintenancePlanService::toDto).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public MaintenancePlanDto getById(Long id) {
+        return toDto(load(id));
+    }
+
+    @Transactional
+    public MaintenancePlanDto create(MaintenancePlanDto dto, String actor) {
+        MaintenancePlan plan = new MaintenancePlan();
+        apply(plan, dto);
+        plan.setCreePar(actor);
+        plan.setDateCreation(LocalDateTime.now());
+        plan.setDateModification(plan.getDateCreation());
+        return toDto(planRepository.save(plan));
+    }
+
+    @Transactional
+    public MaintenancePlanDto update(Long id, MaintenancePlanDto dto) {
+        MaintenancePlan plan = load(id);
+        boolean recurrenceChanged = plan.getFrequence() != dto.getFrequence()
+                || plan.getIntervalle() != Math.max(dto.getIntervalle(), 1)
+                || !Objects.equals(plan.getDateDebut(), dto.getDateDebut())
+                || !Objects.equals(plan.getDateFin(), dto.getDateFin())
+                || plan.getCategorie() != dto.getCategorie()
+                || !Objects.equals(plan.getAsset() != null ? plan.getAsset().getId() : null, dto.getAssetId());
+        apply(plan, dto);
+        plan.setDateModification(LocalDateTime.now());
+        if (recurrenceChanged) {
+            // Le filigrane est remis à zéro : la prochaine génération repart d'aujourd'hui
+            purge(id);
+            plan.setGenereJusqua(null);
+            plan.setDerniereGeneration(null);
+        }
+        return toDto(planRepository.save(plan));
+    }
+
+    // Les occurrences non commencées disparaissent, les autres restent comme interventions ordinaires
+    @Transactional
+    public void delete(Long id) {
+        load(id);
+        purge(id);
+        jdbcTemplate.update(DETACH_SQL, id);
+        planRepository.deleteById(id);
+    }
+
+    private void purge(Long id) {
+        List<Long> ids = jdbcTemplate.queryForList(PURGEABLE_SQL, Long.class, id, LocalDate.now());
+        if (!ids.isEmpty()) {
+            statsRollup.remove(ids);
+            interventionRepository.deleteAllByIdInBatch(ids);
+        }
+    }
+
+    private MaintenancePlan load(Long id) {
+        return planRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Plan de maintenance non trouvé"));
+    }
+
+    private void apply(MaintenancePlan plan, MaintenancePlanDto dto) {
+        if ((dto.getCategorie() == null) == (dto.getAssetId() == null)) {
+            throw new IllegalArgumentException("Un plan s'applique soit à une catégorie, soit à un actif");
+        }
+        if (dto.getFrequence() == null) {
+            throw new IllegalArgumentException("La fréquence est obligatoire");
+        }
+        LocalDate debut = dto.getDateDebut() != null ? dto.getDateDebut() : LocalDate.now();
+        if (dto.getDateFin() != null && dto.getDateFin().isBefore(debut)) {
+            throw new IllegalArgumentException("La date de fin précède la date de début");
+        }
+        plan.setNom(dto.getNom());
+        plan.setDescription(dto.getDescription());
+        plan.setCategorie(dto.getCategorie());
+        plan.setAsset(dto.getAssetId() != null ? assetRepository.getReferenceById(dto.getAssetId()) : null);
+        plan.setFrequence(dto.getFrequence());
+        plan.setIntervalle(Math.max(dto.getIntervalle(), 1));
+        plan.setDateDebut(debut);
+        plan.setDateFin(dto.getDateFin());
+        plan.setPriorite(dto.getPriorite());
+        plan.setDureeEstimee(dto.getDureeEstimee());
+        plan.setDelaiEcheanceJours(Math.max(dto.getDelaiEcheanceJours(), 0));
+        plan.setActif(dto.isActif());
+    }
+
+    private static MaintenancePlanDto toDto(MaintenancePlan plan) {
+        Asset asset = plan.getAsset();
+        return MaintenancePlanDto.builder()
+                .id(plan.getId())
+                .nom(plan.getNom())
+                .description(plan.getDescription())
+                .categorie(plan.getCategorie())
+                .assetId(asset != null ? asset.getId() : null)
+                .assetNom(asset != null ? asset.getNom() : null)
+                .frequence(plan.getFrequence())
+                .intervalle(plan.getIntervalle())
+                .dateDebut(plan.getDateDebut())
+                .dateFin(plan.getDateFin())
+                .priorite(plan.getPriorite())
+                .dureeEstimee(plan.getDureeEstimee())
+                .delaiEcheanceJours(plan.getDelaiEcheanceJours())
+                .actif(plan.isActif())
+                .genereJusqua(plan.getGenereJusqua())
+                .derniereGeneration(plan.getDerniereGeneration())
+                .creePar(plan.getCreePar())
+                .dateCreation(plan.getDateCreation())
+                .dateModification(plan.getDateModification())
+                .build();
+    }
+}
@@ -0,0 +1,347 @@
+package org.example.gactifs.Intervention.assignment;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Affectation d'interventions à des techniciens par glouton puis recherche locale.
+ * <p>
+ * Chaque technicien traite ses interventions par échéance croissante à la suite de sa charge existante ;
+ * une heure de retard coûte le poids de la priorité, une intervention hors des services habituels du
+ * technicien coûte {@code affinityWeight} heures pondérées, une intervention non affectée (capacité épuisée)
+ * coûte {@link #UNASSIGNED_PENALTY} heures pondérées. Plusieurs départs (glouton à ordre perturbé, puis
+ * déplacements et échanges améliorants) sont lancés en parallèle sur le pool fork-join jusqu'à épuisement
+ * du budget de temps ; la meilleure solution est retenue.
+ */
+public class AssignmentSolver {
+
+    public static final double UNASSIGNED_PENALTY = 1_000;
+
+    private static final double EPSILON = 1e-9;
+
+    private static final int CANDIDATE_SAMPLES = 4;
+
+    /** Durée et échéance en heures ouvrées depuis l'instant de calcul ; échéance infinie si absente. */
+    public record Task(long id, double duration, double due, int weight, Long serviceId) {}
+
+    /**
+     * Affinité par service dans [0, 1] ; {@code defaultAffinity} pour les services absents de la carte.
+     * {@code capacity} est la capacité totale sur l'horizon, charge existante comprise.
+     */
+    public record Technician(UUID id, double load, double capacity, Map<Long, Double> affinity, double defaultAffinity) {}
+
+    /** {@code assignment[i]} : index du technicien de la tâche i, ou -1. */
+    public record Solution(int[] assignment, double greedyCost, double cost, long moves, int starts, long elapsedMillis) {
+
+        public int unassigned() {
+            return (int) Arrays.stream(assignment).filter(t -> t < 0).count();
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final double affinityWeight;
+
+    public AssignmentSolver(ForkJoinPool pool, double affinityWeight) {
+        this.pool = pool;
+        this.affinityWeight = affinityWeight;
+    }
+
+    public Solution solve(List<Task> tasks, List<Technician> technicians, Duration budget) {
+        long start = System.nanoTime();
+        long deadline = start + budget.toNanos();
+        Model model = new Model(tasks, technicians, affinityWeight);
+        if (tasks.isEmpty() || technicians.isEmpty()) {
+            int[] none = new int[tasks.size()];
+            Arrays.fill(none, -1);
+            double cost = 0;
+            for (int i = 0; i < tasks.size(); i++) {
+                cost += model.unassignedCost(i);
+            }
+            return new Solution(none, cost, cost, 0, 0, 0);
+        }
+
+        int starts = Math.max(1, pool.getParallelism());
+        List<Callable<State>> workers = new ArrayList<>(starts);
+        for (int w = 0; w < starts; w++) {
+            long seed = 0x9E3779B97F4A7C15L * (w + 1);
+            boolean perturb = w > 0;
+            workers.add(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                State state = model.greedy(perturb ? random : null);
+                state.greedyCost = state.total();
+                model.improve(state, random, deadline);
+                return state;
+            });
+        }
+
+        State best = null;
+        double greedyCost = Double.POSITIVE_INFINITY;
+        long moves = 0;
+        for (Future<State> future : pool.invokeAll(workers)) {
+            State state = join(future);
+            greedyCost = Math.min(greedyCost, state.greedyCost);
+            moves += state.moves;
+            if (best == null || state.total() < best.total()) {
+                best = state;
+            }
+        }
+        return new Solution(best.assign, greedyCost, best.total(), moves, starts,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static State join(Future<State> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Calcul d'affectation interrompu", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException r ? r : new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Données du problème sous forme de tableaux, partagées en lecture par tous les départs
+    private static final class Model {
+        final int n;
+        final int m;
+        final double[] duration;
+        final double[] due;
+        final int[] weight;
+        final double[] load;
+        final double[] capacity;
+        // mismatch[t][i] : pénalité d'affinité de la tâche i chez le technicien t, avant pondération par la priorité
+        final float[][] mismatch;
+
+        Model(List<Task> tasks, List<Technician> technicians, double affinityWeight) {
+            n = tasks.size();
+            m = technicians.size();
+            duration = new double[n];
+            due = new double[n];
+            weight = new int[n];
+            for (int i = 0; i < n; i++) {
+                Task task = tasks.get(i);
+                duration[i] = task.duration();
+                due[i] = task.due();
+                weight[i] = Math.max(1, task.weight());
+            }
+            load = new double[m];
+            capacity = new double[m];
+            mismatch = new float[m][n];
+            for (int t = 0; t < m; t++) {
+                Technician technician = technicians.get(t);
+                load[t] = technician.load();
+                capacity[t] = technician.capacity();
+                for (int i = 0; i < n; i++) {
+                    Long service = tasks.get(i).serviceId();
+                    if (service != null) {
+                        double affinity = technician.affinity().getOrDefault(service, technician.defaultAffinity());
+                        mismatch[t][i] = (float) (affinityWeight * (1 - affinity));
+                    }
+                }
+            }
+        }
+
+        double unassignedCost(int i) {
+            return weight[i] * UNASSIGNED_PENALTY;
+        }
+
+        boolean before(int a, int b) {
+            return due[a] < due[b] || (due[a] == due[b] && a < b);
+        }
+
+        // Coût du technicien t pour sa liste triée, privée de skip et augmentée de add (-1 : aucun)
+        double cost(int t, int[] list, int size, int skip, int add) {
+            double time = load[t];
+            double cost = 0;
+            int k = 0;
+            while (true) {
+                while (k < size && list[k] == skip) {
+                    k++;
+                }
+                int next;
+                if (add >= 0 && (k >= size || before(add, list[k]))) {
+                    next = add;
+                    add = -1;
+                } else if (k < size) {
+                    next = list[k++];
+                } else {
+                    return cost;
+                }
+                time += duration[next];
+                cost += weight[next] * (Math.max(0, time - due[next]) + mismatch[t][next]);
+            }
+        }
+
+        State greedy(SplittableRandom random) {
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> weight[a] != weight[b] ? Integer.compare(weight[b], weight[a])
+                    : Double.compare(due[a], due[b]));
+            if (random != null) {
+                // Perturbation légère de l'ordre pour diversifier les départs
+                for (int s = 0; s < n / 4; s++) {
+                    int k = random.nextInt(n - 1);
+                    Integer tmp = order[k];
+                    order[k] = order[k + 1];
+                    order[k + 1] = tmp;
+                }
+            }
+
+            State state = new State(this);
+            for (int i : order) {
+                int best = -1;
+                double bestDelta = Double.POSITIVE_INFINITY;
+                for (int t = 0; t < m; t++) {
+                    if (state.used[t] + duration[i] > capacity[t]) {
+                        continue;
+                    }
+                    double delta = cost(t, state.lists[t], state.sizes[t], -1, i) - state.techCost[t];
+                    if (delta < bestDelta) {
+                        bestDelta = delta;
+                        best = t;
+                    }
+                }
+                if (best >= 0) {
+                    state.insert(best, i);
+                }
+            }
+            return state;
+        }
+
+        // Descente : déplacement d'une tâche vers un autre technicien ou échange de deux tâches
+        void improve(State state, SplittableRandom random, long deadline) {
+            long iterations = 0;
+            while ((++iterations & 1023) != 0 || System.nanoTime() < deadline) {
+                int i = random.nextInt(n);
+                int a = state.assign[i];
+                int b = candidate(i, random);
+                if (a == b) {
+                    continue;
+                }
+                if (a < 0 || state.sizes[b] == 0 || random.nextBoolean()) {
+                    relocate(state, i, a, b);
+                } else {
+                    swap(state, i, a, b, state.lists[b][random.nextInt(state.sizes[b])]);
+                }
+            }
+        }
+
+        // Meilleure affinité parmi quelques techniciens tirés au hasard : oriente les mouvements sans biaiser la recherche
+        private int candidate(int i, SplittableRandom random) {
+            int best = random.nextInt(m);
+            for (int s = 1; s < CANDIDATE_SAMPLES; s++) {
+                int t = random.nextInt(m);
+                if (mismatch[t][i] < mismatch[best][i]) {
+                    best = t;
+                }
+            }
+            return best;
+        }
+
+        private void relocate(State state, int i, int a, int b) {
+            if (state.used[b] + duration[i] > capacity[b]) {
+                return;
+            }
+            double costB = cost(b, state.lists[b], state.sizes[b], -1, i);
+            double costA = a >= 0 ? cost(a, state.lists[a], state.sizes[a], i, -1) : 0;
+            double before = state.techCost[b] + (a >= 0 ? state.techCost[a] : unassignedCost(i));
+            if (costA + costB < before - EPSILON) {
+                if (a >= 0) {
+                    state.remove(a, i);
+                }
+                state.insert(b, i);
+                state.moves++;
+            }
+        }
+
+        private void swap(State state, int i, int a, int b, int j) {
+            if (state.used[a] - duration[i] + duration[j] > capacity[a]
+                    || state.used[b] - duration[j] + duration[i] > capacity[b]) {
+                return;
+            }
+            double costA = cost(a, state.lists[a], state.sizes[a], i, j);
+            double costB = cost(b, state.lists[b], state.sizes[b], j, i);
+            if (costA + costB < state.techCost[a] + state.techCost[b] - EPSILON) {
+                state.remove(a, i);
+                state.remove(b, j);
+                state.insert(a, j);
+                state.insert(b, i);
+                state.moves++;
+            }
+        }
+    }
+
+    // Solution en cours d'un départ : listes triées par échéance et coûts par technicien
+    private static final class State {
+        final Model model;
+        final int[] assign;
+        final int[][] lists;
+        final int[] sizes;
+        final double[] used;
+        final double[] techCost;
+        double greedyCost;
+        long moves;
+
+        State(Model model) {
+            this.model = model;
+            assign = new int[model.n];
+            Arrays.fill(assign, -1);
+            lists = new int[model.m][4];
+            sizes = new int[model.m];
+            // La charge existante occupe déjà une partie de la capacité
+            used = Arrays.copyOf(model.load, model.m);
+            techCost = new double[model.m];
+        }
+
+        void insert(int t, int i) {
+            int[] list = lists[t];
+            int size = sizes[t];
+            if (size == list.length) {
+                list = lists[t] = Arrays.copyOf(list, size * 2);
+            }
+            int k = size;
+            while (k > 0 && model.before(i, list[k - 1])) {
+                list[k] = list[k - 1];
+                k--;
+            }
+            list[k] = i;
+            sizes[t] = size + 1;
+            assign[i] = t;
+            used[t] += model.duration[i];
+            techCost[t] = model.cost(t, list, sizes[t], -1, -1);
+        }
+
+        void remove(int t, int i) {
+            int[] list = lists[t];
+            int size = sizes[t];
+            int k = 0;
+            while (list[k] != i) {
+                k++;
+            }
+            System.arraycopy(list, k + 1, list, k, size - k - 1);
+            sizes[t] = size - 1;
+            assign[i] = -1;
+            used[t] -= model.duration[i];
+            techCost[t] = model.cost(t, list, sizes[t], -1, -1);
+        }
+
+        double total() {
+            double total = 0;
+            for (int t = 0; t < model.m; t++) {
+                total += techCost[t];
+            }
+            for (int i = 0; i < model.n; i++) {
+                if (assign[i] < 0) {
+                    total += model.unassignedCost(i);
+                }
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.gactifs.Intervention.calendar;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Index GiST sur la période [dateDebut, dateFin] des interventions, que Hibernate ne sait pas déclarer.
+ * Avec btree_gist, l'index est composite (technicien, période) ; sans l'extension, on se contente
+ * de l'index sur la période. Les requêtes doivent reprendre exactement l'expression PERIODE.
+ */
+@Component
+@RequiredArgsConstructor
+public class InterventionCalendarSchema implements CommandLineRunner {
+
+    // Une intervention sans date de fin occupe l'instant de début ; une fin antérieure au début est ignorée
+    public static final String PERIODE =
+            "tsrange(date_debut, greatest(date_debut, coalesce(date_fin, date_debut)), '[]')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        if (createBtreeGist()) {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_interventions_technicien_periode ON interventions " +
+                    "USING GIST (technicien_assigne_id, (" + PERIODE + ")) WHERE date_debut IS NOT NULL");
+        }
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_interventions_periode ON interventions " +
+                "USING GIST ((" + PERIODE + ")) WHERE date_debut IS NOT NULL");
+    }
+
+    private boolean createBtreeGist() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+            return true;
+        } catch (DataAccessException e) {
+            Integer installed = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_extension WHERE extname = 'btree_gist'", Integer.class);
+            return installed != null && installed > 0;
+        }
+    }
+}
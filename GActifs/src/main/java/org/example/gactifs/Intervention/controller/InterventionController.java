@@ -0,0 +1,311 @@
+package org.example.gactifs.Intervention.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Intervention.Service.InterventionAssignmentService;
+import org.example.gactifs.Intervention.Service.InterventionCalendarService;
+import org.example.gactifs.Intervention.Service.InterventionExportService;
+import org.example.gactifs.Intervention.Service.InterventionService;
+import org.example.gactifs.Intervention.Service.InterventionStatsService;
+import org.example.gactifs.Intervention.Service.InterventionStatusService;
+import org.example.gactifs.Intervention.dto.BulkAssignRequest;
+import org.example.gactifs.Intervention.dto.BulkAssignResult;
+import org.example.gactifs.Intervention.dto.BulkStatusResult;
+import org.example.gactifs.Intervention.dto.CalendarView;
+import org.example.gactifs.Intervention.dto.FreeBusy;
+import org.example.gactifs.Intervention.dto.InterventionDTO;
+import org.example.gactifs.Intervention.dto.InterventionFilter;
+import org.example.gactifs.Intervention.dto.InterventionStats;
+import org.example.gactifs.Intervention.dto.StatusChangeRequest;
+import org.example.gactifs.Intervention.dto.TechnicianAvailability;
+import org.example.gactifs.Intervention.model.Intervention;
+import org.example.gactifs.Intervention.model.InterventionHistory;
+import org.example.gactifs.asset.dto.KeysetPage;
+import org.example.gactifs.common.export.ExportFormat;
+import org.example.gactifs.common.export.ExportLimiter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// Toutes les listes sont paginées par clé : renvoyer nextCursor dans "cursor" pour la page suivante
+@RestController
+@RequestMapping("/api/v1/auth/interventions")
+@RequiredArgsConstructor
+public class InterventionController {
+
+    private final InterventionService interventionService;
+    private final InterventionCalendarService calendarService;
+    private final InterventionAssignmentService assignmentService;
+    private final InterventionStatsService statsService;
+    private final InterventionStatusService statusService;
+    private final InterventionExportService exportService;
+    private final ExportLimiter exportLimiter;
+
+    @GetMapping({"", "/search"})
+    public KeysetPage<InterventionDTO> search(
+            @RequestParam(required = false) Set<Intervention.StatutIntervention> statut,
+            @RequestParam(required = false) Intervention.PrioriteIntervention priorite,
+            @RequestParam(required = false) Intervention.TypeIntervention typeIntervention,
+            @RequestParam(required = false) UUID technicienId,
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(required = false) Long assetId,
+            @RequestParam(required = false) String titre,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateCreationMin,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateCreationMax,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateDebutMin,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateDebutMax,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateEcheanceMin,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateEcheanceMax,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        InterventionFilter filter = filter(statut, priorite, typeIntervention, technicienId, serviceId, assetId, titre,
+                dateCreationMin, dateCreationMax, dateDebutMin, dateDebutMax, dateEcheanceMin, dateEcheanceMax);
+        return interventionService.search(filter, cursor, size);
+    }
+
+    // format : excel ou pdf ; mêmes filtres que la recherche, toutes les lignes sont écrites au fil de l'eau
+    @GetMapping("/export/{format}")
+    public void export(
+            @PathVariable String format,
+            @RequestParam(required = false) Set<Intervention.StatutIntervention> statut,
+            @RequestParam(required = false) Intervention.PrioriteIntervention priorite,
+            @RequestParam(required = false) Intervention.TypeIntervention typeIntervention,
+            @RequestParam(required = false) UUID technicienId,
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(required = false) Long assetId,
+            @RequestParam(required = false) String titre,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateCreationMin,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateCreationMax,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateDebutMin,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateDebutMax,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateEcheanceMin,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dateEcheanceMax,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromPath(format);
+        InterventionFilter filter = filter(statut, priorite, typeIntervention, technicienId, serviceId, assetId, titre,
+                dateCreationMin, dateCreationMax, dateDebutMin, dateDebutMax, dateEcheanceMin, dateEcheanceMax);
+        ExportLimiter.Permit permit = exportLimiter.acquire();
+        try {
+            response.setContentType(exportFormat.contentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"interventions-"
+                    + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + "." + exportFormat.extension() + "\"");
+            exportService.export(filter, exportFormat, response.getOutputStream());
+        } finally {
+            permit.close();
+        }
+    }
+
+    @GetMapping("/overdue")
+    public KeysetPage<InterventionDTO> getOverdue(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "20") int size) {
+        return interventionService.getOverdue(cursor, size);
+    }
+
+    @GetMapping("/upcoming")
+    public KeysetPage<InterventionDTO> getUpcoming(@RequestParam(defaultValue = "7") int days,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "20") int size) {
+        return interventionService.getUpcoming(days, cursor, size);
+    }
+
+    @GetMapping("/critical")
+    public KeysetPage<InterventionDTO> getCritical(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "20") int size) {
+        return interventionService.getCritical(cursor, size);
+    }
+
+    @GetMapping("/technician/{technicienId}")
+    public KeysetPage<InterventionDTO> getByTechnician(@PathVariable UUID technicienId,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "20") int size) {
+        return interventionService.search(InterventionFilter.builder().technicienId(technicienId).build(), cursor, size);
+    }
+
+    @GetMapping("/asset/{assetId}")
+    public KeysetPage<InterventionDTO> getByAsset(@PathVariable Long assetId,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "20") int size) {
+        return interventionService.search(InterventionFilter.builder().assetId(assetId).build(), cursor, size);
+    }
+
+    @GetMapping("/service/{serviceId}")
+    public KeysetPage<InterventionDTO> getByService(@PathVariable Long serviceId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int size) {
+        return interventionService.search(InterventionFilter.builder().serviceId(serviceId).build(), cursor, size);
+    }
+
+    @GetMapping("/calendar")
+    public CalendarView calendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) UUID technicienId,
+            @RequestParam(required = false) Long serviceId) {
+        return calendarService.calendar(startDate, endDate, technicienId, serviceId);
+    }
+
+    @GetMapping("/calendar/free-busy")
+    public List<FreeBusy> freeBusy(
+            @RequestParam List<UUID> technicienIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        return calendarService.freeBusy(technicienIds, startDate, endDate);
+    }
+
+    @GetMapping("/stats")
+    public InterventionStats getStats(@RequestParam(required = false) Long serviceId,
+                                      @RequestParam(required = false) Intervention.TypeIntervention typeIntervention,
+                                      @RequestParam(required = false) UUID technicienId) {
+        return statsService.get(serviceId, typeIntervention, technicienId);
+    }
+
+    @GetMapping("/stats/period")
+    public InterventionStats getStatsForPeriod(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(required = false) Intervention.TypeIntervention typeIntervention,
+            @RequestParam(required = false) UUID technicienId) {
+        return statsService.getForPeriod(startDate.toLocalDate(), endDate.toLocalDate(), serviceId, typeIntervention, technicienId);
+    }
+
+    // Une ligne par jour, semaine ou mois de la période
+    @GetMapping("/stats/series")
+    public List<InterventionStats> getStatsSeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "JOUR") InterventionStatsService.Granularite granularite,
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(required = false) Intervention.TypeIntervention typeIntervention,
+            @RequestParam(required = false) UUID technicienId) {
+        return statsService.getSeries(startDate.toLocalDate(), endDate.toLocalDate(), granularite,
+                serviceId, typeIntervention, technicienId);
+    }
+
+    // Recalcule les agrégats journaliers à partir des interventions (reprise, nouvelle mesure)
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Void> rebuildStats() {
+        statsService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/available")
+    public List<TechnicianAvailability> available(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        return assignmentService.available(startDate, endDate);
+    }
+
+    @PatchMapping("/bulk/assign")
+    public BulkAssignResult bulkAssign(@RequestBody BulkAssignRequest request) {
+        return assignmentService.assign(request);
+    }
+
+    @GetMapping("/{id}")
+    public InterventionDTO getById(@PathVariable Long id) {
+        return interventionService.getById(id);
+    }
+
+    @PostMapping
+    public ResponseEntity<InterventionDTO> create(@RequestBody InterventionDTO dto, Principal principal) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(interventionService.create(dto, actor(principal)));
+    }
+
+    @PutMapping("/{id}")
+    public InterventionDTO update(@PathVariable Long id, @RequestBody InterventionDTO dto) {
+        return interventionService.update(id, dto);
+    }
+
+    @PatchMapping("/{id}/status")
+    public InterventionDTO changeStatus(@PathVariable Long id, @RequestBody StatusChangeRequest request, Principal principal) {
+        return statusService.transition(id, request.getStatut(), actor(principal), request.getReason(), request.getDureeReelle());
+    }
+
+    @PatchMapping("/{id}/start")
+    public InterventionDTO start(@PathVariable Long id, Principal principal) {
+        return statusService.transition(id, Intervention.StatutIntervention.EN_COURS, actor(principal), null, null);
+    }
+
+    @PatchMapping("/{id}/complete")
+    public InterventionDTO complete(@PathVariable Long id,
+                                    @RequestBody(required = false) StatusChangeRequest request, Principal principal) {
+        return statusService.transition(id, Intervention.StatutIntervention.TERMINEE, actor(principal),
+                request != null ? request.getReason() : null, request != null ? request.getDureeReelle() : null);
+    }
+
+    @PatchMapping("/{id}/validate")
+    public InterventionDTO validate(@PathVariable Long id, Principal principal) {
+        return statusService.transition(id, Intervention.StatutIntervention.VALIDEE, actor(principal), null, null);
+    }
+
+    @PatchMapping("/{id}/suspend")
+    public InterventionDTO suspend(@PathVariable Long id,
+                                   @RequestBody(required = false) StatusChangeRequest request, Principal principal) {
+        return statusService.transition(id, Intervention.StatutIntervention.SUSPENDUE, actor(principal),
+                request != null ? request.getReason() : null, null);
+    }
+
+    @PatchMapping("/{id}/cancel")
+    public InterventionDTO cancel(@PathVariable Long id,
+                                 @RequestBody(required = false) StatusChangeRequest request, Principal principal) {
+        return statusService.transition(id, Intervention.StatutIntervention.ANNULEE, actor(principal),
+                request != null ? request.getReason() : null, null);
+    }
+
+    // Résultat par intervention : APPLIED, UNCHANGED, REFUSED (transition interdite) ou NOT_FOUND
+    @PatchMapping("/bulk/status")
+    public BulkStatusResult bulkStatus(@RequestBody StatusChangeRequest request, Principal principal) {
+        return statusService.transition(request.getInterventionIds(), request.getStatut(), actor(principal),
+                request.getReason(), request.getDureeReelle());
+    }
+
+    @GetMapping("/{id}/history")
+    public List<InterventionHistory> getHistory(@PathVariable Long id) {
+        return statusService.getHistory(id);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        interventionService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static InterventionFilter filter(Set<Intervention.StatutIntervention> statut,
+                                             Intervention.PrioriteIntervention priorite,
+                                             Intervention.TypeIntervention typeIntervention,
+                                             UUID technicienId, Long serviceId, Long assetId, String titre,
+                                             LocalDateTime dateCreationMin, LocalDateTime dateCreationMax,
+                                             LocalDateTime dateDebutMin, LocalDateTime dateDebutMax,
+                                             LocalDateTime dateEcheanceMin, LocalDateTime dateEcheanceMax) {
+        return InterventionFilter.builder()
+                .statuts(statut)
+                .priorite(priorite)
+                .type(typeIntervention)
+                .technicienId(technicienId)
+                .serviceId(serviceId)
+                .assetId(assetId)
+                .titre(titre)
+                .createdFrom(dateCreationMin)
+                .createdTo(dateCreationMax)
+                .debutFrom(dateDebutMin)
+                .debutTo(dateDebutMax)
+                .echeanceFrom(dateEcheanceMin)
+                .echeanceTo(dateEcheanceMax)
+                .build();
+    }
+
+    private static String actor(Principal principal) {
+        return principal != null ? principal.getName() : "system";
+    }
+}
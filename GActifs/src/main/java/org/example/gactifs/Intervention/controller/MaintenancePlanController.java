@@ -0,0 +1,60 @@
+package org.example.gactifs.Intervention.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Intervention.Service.MaintenancePlanService;
+import org.example.gactifs.Intervention.dto.MaintenanceGenerationResult;
+import org.example.gactifs.Intervention.dto.MaintenancePlanDto;
+import org.example.gactifs.Intervention.maintenance.MaintenancePlanGenerator;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/auth/maintenance-plans")
+@RequiredArgsConstructor
+public class MaintenancePlanController {
+
+    private final MaintenancePlanService planService;
+    private final MaintenancePlanGenerator generator;
+
+    @GetMapping
+    public List<MaintenancePlanDto> getAll() {
+        return planService.getAll();
+    }
+
+    @GetMapping("/{id}")
+    public MaintenancePlanDto getById(@PathVariable Long id) {
+        return planService.getById(id);
+    }
+
+    @PostMapping
+    public ResponseEntity<MaintenancePlanDto> create(@RequestBody MaintenancePlanDto dto, Principal principal) {
+        String actor = principal != null ? principal.getName() : "system";
+        return ResponseEntity.status(HttpStatus.CREATED).body(planService.create(dto, actor));
+    }
+
+    @PutMapping("/{id}")
+    public MaintenancePlanDto update(@PathVariable Long id, @RequestBody MaintenancePlanDto dto) {
+        return planService.update(id, dto);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        planService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Génération immédiate, sans attendre la planification nocturne ; rejouable sans doublon
+    @PostMapping("/generate")
+    public MaintenanceGenerationResult generateAll() {
+        return generator.generateAll();
+    }
+
+    @PostMapping("/{id}/generate")
+    public MaintenanceGenerationResult generate(@PathVariable Long id) {
+        return generator.generate(id);
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.gactifs.Intervention.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+// Sans technicienId, les interventions sont réparties par l'optimiseur ; sans interventionIds,
+// il traite les interventions ouvertes non affectées
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class BulkAssignRequest {
+    private List<Long> interventionIds;
+    private UUID technicienId;
+}
@@ -0,0 +1,38 @@
+package org.example.gactifs.Intervention.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkAssignResult {
+
+    // SKIPPED : intervention absente, close ou affectée entre-temps ; UNASSIGNABLE : aucune capacité disponible
+    public enum Status { ASSIGNED, SKIPPED, UNASSIGNABLE }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Row {
+        private Long interventionId;
+        private UUID technicienId;
+        private Status status;
+    }
+
+    private List<Row> rows;
+    private int total;
+    private int assigned;
+    private int skipped;
+    private int unassignable;
+    private Double greedyCost;
+    private Double cost;
+    private long moves;
+    private long durationMillis;
+}
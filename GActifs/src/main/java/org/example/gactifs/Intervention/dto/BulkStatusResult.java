@@ -0,0 +1,38 @@
+package org.example.gactifs.Intervention.dto;
+
+import lombok.*;
+import org.example.gactifs.Intervention.model.Intervention;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusResult {
+
+    // UNCHANGED : déjà dans le statut demandé ; REFUSED : transition absente de la table
+    public enum Outcome { APPLIED, UNCHANGED, REFUSED, NOT_FOUND }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Row {
+        private Long interventionId;
+        private Intervention.StatutIntervention ancienStatut;
+        private Outcome outcome;
+        private String message;
+    }
+
+    private Intervention.StatutIntervention statut;
+    private List<Row> rows;
+    private int total;
+    private int applied;
+    private int unchanged;
+    private int refused;
+    private int notFound;
+    private long durationMillis;
+}
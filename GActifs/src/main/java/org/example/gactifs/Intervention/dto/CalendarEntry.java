@@ -0,0 +1,26 @@
+package org.example.gactifs.Intervention.dto;
+
+import lombok.*;
+import org.example.gactifs.Intervention.model.Intervention;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class CalendarEntry {
+    private Long id;
+    private String numero;
+    private String titre;
+    private Intervention.TypeIntervention typeIntervention;
+    private Intervention.PrioriteIntervention priorite;
+    private Intervention.StatutIntervention statut;
+    private LocalDateTime dateDebut;
+    private LocalDateTime dateFin;
+    private UUID technicienId;
+    private String technicienPrenom;
+    private String technicienNom;
+    private Long serviceDirectionId;
+    private String serviceDirectionNom;
+    private Long assetId;
+    private String assetNom;
+}
@@ -0,0 +1,15 @@
+package org.example.gactifs.Intervention.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// truncated : la fenêtre contient plus d'interventions que la limite, réduire la période ou filtrer
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class CalendarView {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<CalendarEntry> entries;
+    private boolean truncated;
+}
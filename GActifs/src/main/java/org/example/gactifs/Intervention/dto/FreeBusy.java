@@ -0,0 +1,17 @@
+package org.example.gactifs.Intervention.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Créneaux occupés (fusionnés) et libres d'un technicien sur [from, to)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class FreeBusy {
+    private UUID technicienId;
+    private List<Slot> busy;
+    private List<Slot> free;
+
+    public record Slot(LocalDateTime debut, LocalDateTime fin) {}
+}
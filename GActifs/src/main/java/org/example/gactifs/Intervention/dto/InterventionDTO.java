@@ -3,7 +3,7 @@ import lombok.*;
 import org.example.gactifs.Intervention.model.Intervention;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.UUID;
 
 @Getter
 @Setter
@@ -12,6 +12,7 @@ import java.util.List;
 @Builder
 public class InterventionDTO {
     private Long id;
+    private String numero;
     private String titre;
     private String description;
     private Intervention.TypeIntervention typeIntervention;
@@ -28,7 +29,13 @@ public class InterventionDTO {
     private String validateur;
     private LocalDateTime dateValidation;
     private Long assetId;
-    private Long technicienId;
+    private UUID technicienId;
     private Long serviceDirectionId;
+    // Libellés des entités liées, renseignés en lecture uniquement
+    private String assetNom;
+    private String assetReference;
+    private String technicienPrenom;
+    private String technicienNom;
+    private String serviceDirectionNom;
 }
 
@@ -0,0 +1,28 @@
+package org.example.gactifs.Intervention.dto;
+
+import lombok.*;
+import org.example.gactifs.Intervention.model.Intervention;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InterventionFilter {
+    private Set<Intervention.StatutIntervention> statuts;
+    private Intervention.PrioriteIntervention priorite;
+    private Intervention.TypeIntervention type;
+    private UUID technicienId;
+    private Long serviceId;
+    private Long assetId;
+    private String titre;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+    private LocalDateTime echeanceFrom;
+    private LocalDateTime echeanceTo;
+    private LocalDateTime debutFrom;
+    private LocalDateTime debutTo;
+}
@@ -0,0 +1,35 @@
+package org.example.gactifs.Intervention.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.time.LocalDate;
+
+// periode : début du jour, de la semaine ou du mois pour une série ; null pour un total
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class InterventionStats {
+    private LocalDate periode;
+    private long total;
+    private long planifiees;
+    private long enAttente;
+    private long enCours;
+    private long suspendues;
+    private long terminees;
+    private long annulees;
+    private long validees;
+    private long enRetard;
+    private long critiques;
+    private double coutTotal;
+    private Double coutMoyen;
+    private Double dureeMoyenne;
+    // Durée réelle / durée estimée sur les interventions qui ont les deux
+    private Double ratioDureeReelleEstimee;
+    // Part des interventions closes avec échéance terminées à temps
+    private Double tauxRespectEcheance;
+
+    // Nom attendu par le frontend (InterventionStats.dureeMovenne)
+    @JsonProperty("dureeMovenne")
+    public Double getDureeMovenne() {
+        return dureeMoyenne;
+    }
+}
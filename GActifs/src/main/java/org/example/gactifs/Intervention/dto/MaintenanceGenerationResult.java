@@ -0,0 +1,13 @@
+package org.example.gactifs.Intervention.dto;
+
+import lombok.*;
+
+// inserted : interventions créées ; skipped : occurrences déjà présentes (génération rejouée)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class MaintenanceGenerationResult {
+    private int plans;
+    private long occurrences;
+    private long inserted;
+    private long skipped;
+    private long durationMillis;
+}
@@ -0,0 +1,33 @@
+package org.example.gactifs.Intervention.dto;
+
+import lombok.*;
+import org.example.gactifs.Intervention.model.Intervention;
+import org.example.gactifs.Intervention.model.MaintenancePlan;
+import org.example.gactifs.asset.enums.AssetCategory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Exactement l'un de categorie / assetId
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class MaintenancePlanDto {
+    private Long id;
+    private String nom;
+    private String description;
+    private AssetCategory categorie;
+    private Long assetId;
+    private String assetNom;
+    private MaintenancePlan.Frequence frequence;
+    private int intervalle;
+    private LocalDate dateDebut;
+    private LocalDate dateFin;
+    private Intervention.PrioriteIntervention priorite;
+    private Double dureeEstimee;
+    private int delaiEcheanceJours;
+    private boolean actif;
+    private LocalDate genereJusqua;
+    private LocalDateTime derniereGeneration;
+    private String creePar;
+    private LocalDateTime dateCreation;
+    private LocalDateTime dateModification;
+}
@@ -0,0 +1,15 @@
+package org.example.gactifs.Intervention.dto;
+
+import lombok.*;
+import org.example.gactifs.Intervention.model.Intervention;
+
+import java.util.List;
+
+// interventionIds pour /bulk/status uniquement ; dureeReelle (heures) à la clôture, sinon calculée depuis dateDebut
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class StatusChangeRequest {
+    private List<Long> interventionIds;
+    private Intervention.StatutIntervention statut;
+    private String reason;
+    private Double dureeReelle;
+}
@@ -0,0 +1,17 @@
+package org.example.gactifs.Intervention.dto;
+
+import lombok.*;
+
+import java.util.UUID;
+
+// Charge d'un technicien sur la période : heures occupées au calendrier et heures encore libres
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class TechnicianAvailability {
+    private UUID id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private double busyHours;
+    private double freeHours;
+    private long openInterventions;
+}
@@ -0,0 +1,50 @@
+package org.example.gactifs.Intervention.lifecycle;
+
+import org.example.gactifs.Intervention.model.Intervention.StatutIntervention;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.example.gactifs.Intervention.model.Intervention.StatutIntervention.*;
+
+/**
+ * Table des transitions de statut d'une intervention :
+ * PLANIFIEE → EN_COURS → TERMINEE → VALIDEE, avec attente, suspension, reprise et annulation.
+ * VALIDEE et ANNULEE sont terminaux ; TERMINEE peut être rouverte (EN_COURS) si la validation est refusée.
+ */
+public final class InterventionLifecycle {
+
+    private static final Map<StatutIntervention, Set<StatutIntervention>> TRANSITIONS = new EnumMap<>(StatutIntervention.class);
+
+    static {
+        TRANSITIONS.put(PLANIFIEE, EnumSet.of(EN_ATTENTE, EN_COURS, ANNULEE));
+        TRANSITIONS.put(EN_ATTENTE, EnumSet.of(PLANIFIEE, EN_COURS, ANNULEE));
+        TRANSITIONS.put(EN_COURS, EnumSet.of(SUSPENDUE, TERMINEE, ANNULEE));
+        TRANSITIONS.put(SUSPENDUE, EnumSet.of(EN_COURS, ANNULEE));
+        TRANSITIONS.put(TERMINEE, EnumSet.of(VALIDEE, EN_COURS));
+        TRANSITIONS.put(VALIDEE, EnumSet.noneOf(StatutIntervention.class));
+        TRANSITIONS.put(ANNULEE, EnumSet.noneOf(StatutIntervention.class));
+    }
+
+    // Statuts possibles à la création ; les autres ne s'atteignent que par transition
+    private static final Set<StatutIntervention> INITIAL = EnumSet.of(PLANIFIEE, EN_ATTENTE);
+
+    private InterventionLifecycle() {
+    }
+
+    public static StatutIntervention initial(StatutIntervention requested) {
+        return INITIAL.contains(requested) ? requested : PLANIFIEE;
+    }
+
+    // Une intervention sans statut (données anciennes) n'a aucune transition : à corriger explicitement
+    public static boolean allowed(StatutIntervention from, StatutIntervention to) {
+        return from != null && TRANSITIONS.get(from).contains(to);
+    }
+
+    public static Set<StatutIntervention> next(StatutIntervention from) {
+        return from == null ? Set.of() : Collections.unmodifiableSet(TRANSITIONS.get(from));
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.gactifs.Intervention.lifecycle;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class TransitionRefusedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public TransitionRefusedException(String message) {
+        super(message);
+    }
+}
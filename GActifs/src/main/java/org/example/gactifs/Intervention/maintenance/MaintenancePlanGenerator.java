@@ -0,0 +1,243 @@
+package org.example.gactifs.Intervention.maintenance;
+
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Intervention.dto.MaintenanceGenerationResult;
+import org.example.gactifs.Intervention.model.MaintenancePlan;
+import org.example.gactifs.Intervention.repository.MaintenancePlanRepository;
+import org.example.gactifs.Intervention.stats.InterventionStatsRollup;
+import org.example.gactifs.common.numbering.NumberingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Déroule les plans de maintenance en interventions MAINTENANCE_PREVENTIVE sur un horizon glissant.
+ * <p>
+ * Incrémental : seules les occurrences au-delà du filigrane du plan (genereJusqua) sont produites, plus,
+ * pour les actifs créés depuis la génération précédente, les occurrences déjà couvertes par le filigrane.
+ * Idempotent : la contrainte unique (plan, actif, date d'occurrence) et ON CONFLICT DO NOTHING rendent
+ * un rejeu, ou deux noeuds concurrents, sans effet. Les actifs sont lus en flux et les lignes insérées par
+ * lots via unnest() sur des tableaux : une requête pour chunk-size interventions.
+ */
+@Component
+@RequiredArgsConstructor
+public class MaintenancePlanGenerator {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO interventions (titre, description, type_intervention, priorite, statut, date_creation, " +
+            "date_echeance, duree_estimee, cree_par, asset_id, service_direction_id, plan_id, date_occurrence) " +
+            "SELECT ?, ?, 'MAINTENANCE_PREVENTIVE', ?, 'PLANIFIEE', ?, " +
+            "r.occurrence + make_interval(days => ?), ?, ?, r.asset_id, r.service_id, ?, r.occurrence " +
+            "FROM unnest(?::bigint[], ?::bigint[], ?::date[]) AS r(asset_id, service_id, occurrence) " +
+            "ON CONFLICT (plan_id, asset_id, date_occurrence) DO NOTHING RETURNING id";
+
+    // Numéros attribués après coup aux seules lignes réellement insérées : un conflit ne consomme pas de numéro
+    private static final String NUMERO_SQL =
+            "UPDATE interventions i SET numero = u.numero " +
+            "FROM unnest(?::bigint[], ?::text[]) AS u(id, numero) WHERE i.id = u.id";
+
+    private static final String ACTIVE_ASSETS = "(etat IS NULL OR etat <> 'HORS_USAGE')";
+
+    private static final String ASSETS_BY_CATEGORY_SQL =
+            "SELECT id, service_id, date_creation FROM asset WHERE categorie = ? AND " + ACTIVE_ASSETS;
+
+    private static final String ASSET_SQL =
+            "SELECT id, service_id, date_creation FROM asset WHERE id = ? AND " + ACTIVE_ASSETS;
+
+    private static final String WATERMARK_SQL =
+            "UPDATE maintenance_plans SET genere_jusqua = ?, derniere_generation = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MaintenancePlanRepository planRepository;
+    private final NumberingService numberingService;
+    private final InterventionStatsRollup statsRollup;
+
+    @Value("${application.maintenance.horizon-days:90}")
+    private int horizonDays;
+
+    @Value("${application.maintenance.chunk-size:10000}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${application.maintenance.generation-cron:0 30 2 * * *}")
+    public void scheduledGeneration() {
+        generateAll();
+    }
+
+    public synchronized MaintenanceGenerationResult generateAll() {
+        long start = System.nanoTime();
+        MaintenanceGenerationResult total = new MaintenanceGenerationResult();
+        for (MaintenancePlan plan : planRepository.findByActifTrue()) {
+            MaintenanceGenerationResult result = generate(plan);
+            total.setOccurrences(total.getOccurrences() + result.getOccurrences());
+            total.setInserted(total.getInserted() + result.getInserted());
+            total.setSkipped(total.getSkipped() + result.getSkipped());
+            total.setPlans(total.getPlans() + 1);
+        }
+        total.setDurationMillis((System.nanoTime() - start) / 1_000_000);
+        return total;
+    }
+
+    public synchronized MaintenanceGenerationResult generate(Long planId) {
+        MaintenancePlan plan = planRepository.findById(planId)
+                .orElseThrow(() -> new NoSuchElementException("Plan de maintenance non trouvé"));
+        if (!plan.isActif()) {
+            throw new IllegalArgumentException("Le plan de maintenance est inactif");
+        }
+        return generate(plan);
+    }
+
+    // Une transaction par plan : lignes insérées et filigrane avancent ensemble
+    private MaintenanceGenerationResult generate(MaintenancePlan plan) {
+        long start = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDate today = startedAt.toLocalDate();
+        LocalDate end = today.plusDays(horizonDays);
+        if (plan.getDateFin() != null && plan.getDateFin().isBefore(end)) {
+            end = plan.getDateFin().plusDays(1);
+        }
+        LocalDate watermark = plan.getGenereJusqua();
+        List<LocalDate> nouvelles = occurrences(plan, watermark != null && watermark.isAfter(today) ? watermark : today, end);
+        List<LocalDate> rattrapage = watermark != null && plan.getDerniereGeneration() != null
+                ? occurrences(plan, today, watermark.isBefore(end) ? watermark : end)
+                : List.of();
+        LocalDate newWatermark = watermark != null && watermark.isAfter(end) ? watermark : end;
+
+        Batch batch = new Batch(plan, startedAt);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!nouvelles.isEmpty() || !rattrapage.isEmpty()) {
+                boolean byAsset = plan.getAsset() != null;
+                jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(byAsset ? ASSET_SQL : ASSETS_BY_CATEGORY_SQL);
+                    ps.setFetchSize(chunkSize);
+                    if (byAsset) {
+                        ps.setLong(1, plan.getAsset().getId());
+                    } else {
+                        ps.setString(1, plan.getCategorie().name());
+                    }
+                    return ps;
+                }, rs -> {
+                    long assetId = rs.getLong("id");
+                    Long serviceId = rs.getObject("service_id", Long.class);
+                    batch.add(assetId, serviceId, nouvelles);
+                    Timestamp created = rs.getTimestamp("date_creation");
+                    if (!rattrapage.isEmpty() && created != null
+                            && !created.toLocalDateTime().isBefore(plan.getDerniereGeneration())) {
+                        batch.add(assetId, serviceId, rattrapage);
+                    }
+                });
+                batch.flush();
+                if (batch.inserted > 0) {
+                    statsRollup.addPlanRun(plan.getId(), startedAt);
+                }
+            }
+            jdbcTemplate.update(WATERMARK_SQL, Date.valueOf(newWatermark), Timestamp.valueOf(startedAt), plan.getId());
+        });
+        return MaintenanceGenerationResult.builder()
+                .plans(1)
+                .occurrences(batch.occurrences)
+                .inserted(batch.inserted)
+                .skipped(batch.occurrences - batch.inserted)
+                .durationMillis((System.nanoTime() - start) / 1_000_000)
+                .build();
+    }
+
+    // Occurrences du plan dans [from, to), bornées par ses dates de début et de fin
+    static List<LocalDate> occurrences(MaintenancePlan plan, LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        if (plan.getFrequence() == null || plan.getDateDebut() == null) {
+            return dates;
+        }
+        // Départ direct à la première occurrence >= from : le coût ne dépend pas de l'ancienneté du plan
+        long first = plan.getFrequence().firstIndexFrom(plan.getDateDebut(), plan.getIntervalle(), from);
+        for (long k = first; ; k++) {
+            LocalDate date = plan.getFrequence().occurrence(plan.getDateDebut(), plan.getIntervalle(), k);
+            if (!date.isBefore(to) || (plan.getDateFin() != null && date.isAfter(plan.getDateFin()))) {
+                return dates;
+            }
+            dates.add(date);
+        }
+    }
+
+    // Lignes en attente sous forme de colonnes, envoyées comme tableaux SQL
+    private final class Batch {
+        private final MaintenancePlan plan;
+        private final Timestamp now;
+        private final Long[] assets = new Long[chunkSize];
+        private final Long[] services = new Long[chunkSize];
+        private final Date[] dates = new Date[chunkSize];
+        private int size;
+        long occurrences;
+        long inserted;
+
+        Batch(MaintenancePlan plan, LocalDateTime now) {
+            this.plan = plan;
+            this.now = Timestamp.valueOf(now);
+        }
+
+        void add(long assetId, Long serviceId, List<LocalDate> occurrenceDates) {
+            for (LocalDate date : occurrenceDates) {
+                assets[size] = assetId;
+                services[size] = serviceId;
+                dates[size] = Date.valueOf(date);
+                if (++size == chunkSize) {
+                    flush();
+                }
+            }
+        }
+
+        void flush() {
+            if (size == 0) {
+                return;
+            }
+            int n = size;
+            List<Long> ids = jdbcTemplate.query(con -> insert(con, n), (rs, i) -> rs.getLong(1));
+            if (!ids.isEmpty()) {
+                String[] numeros = new String[ids.size()];
+                for (int i = 0; i < numeros.length; i++) {
+                    numeros[i] = numberingService.nextInterventionNumero();
+                }
+                jdbcTemplate.update(con -> {
+                    PreparedStatement ps = con.prepareStatement(NUMERO_SQL);
+                    ps.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+                    ps.setArray(2, con.createArrayOf("text", numeros));
+                    return ps;
+                });
+            }
+            inserted += ids.size();
+            occurrences += n;
+            size = 0;
+        }
+
+        private PreparedStatement insert(Connection con, int n) throws SQLException {
+            PreparedStatement ps = con.prepareStatement(INSERT_SQL);
+            ps.setString(1, plan.getNom());
+            ps.setString(2, plan.getDescription());
+            ps.setString(3, plan.getPriorite() != null ? plan.getPriorite().name() : null);
+            ps.setTimestamp(4, now);
+            ps.setInt(5, plan.getDelaiEcheanceJours());
+            ps.setObject(6, plan.getDureeEstimee(), Types.DOUBLE);
+            ps.setString(7, "plan:" + plan.getId());
+            ps.setLong(8, plan.getId());
+            ps.setArray(9, con.createArrayOf("bigint", Arrays.copyOf(assets, n)));
+            ps.setArray(10, con.createArrayOf("bigint", Arrays.copyOf(services, n)));
+            ps.setArray(11, con.createArrayOf("date", Arrays.copyOf(dates, n)));
+            return ps;
+        }
+    }
+}
@@ -6,11 +6,22 @@ import org.example.gactifs.asset.models.Asset;
 import org.example.gactifs.asset.models.ServiceDirection;
 import org.example.gactifs.auth.Model.User;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "interventions")
+@Table(name = "interventions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_interventions_plan_occurrence", columnNames = {"plan_id", "asset_id", "date_occurrence"})
+}, indexes = {
+        @Index(name = "idx_interventions_date_id", columnList = "date_creation, id"),
+        @Index(name = "idx_interventions_statut_echeance", columnList = "statut, date_echeance, id"),
+        @Index(name = "idx_interventions_priorite_statut", columnList = "priorite, statut, date_creation, id"),
+        @Index(name = "idx_interventions_technicien_statut", columnList = "technicien_assigne_id, statut"),
+        @Index(name = "idx_interventions_technicien_date", columnList = "technicien_assigne_id, date_creation, id"),
+        @Index(name = "idx_interventions_asset_date", columnList = "asset_id, date_creation, id"),
+        @Index(name = "idx_interventions_service_date", columnList = "service_direction_id, date_creation, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,6 +33,9 @@ public class Intervention {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(unique = true)
+    private String numero;
+
     private String titre;
     private String description;
 
@@ -47,15 +61,21 @@ public class Intervention {
     private String validateur;
     private LocalDateTime dateValidation;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Asset asset;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User technicienAssigne;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private ServiceDirection serviceDirection;
 
+    // Renseignés pour les interventions générées par un plan de maintenance
+    @ManyToOne(fetch = FetchType.LAZY)
+    private MaintenancePlan plan;
+
+    private LocalDate dateOccurrence;
+
 
 
     public enum TypeIntervention {
@@ -0,0 +1,30 @@
+package org.example.gactifs.Intervention.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "intervention_history", indexes = {
+        @Index(name = "idx_intervention_history_intervention", columnList = "intervention_id, date_changement")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class InterventionHistory {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long interventionId;
+
+    @Enumerated(EnumType.STRING)
+    private Intervention.StatutIntervention ancienStatut;
+
+    @Enumerated(EnumType.STRING)
+    private Intervention.StatutIntervention nouveauStatut;
+
+    @Column(columnDefinition = "TEXT")
+    private String commentaire;
+    private String auteur;
+    private LocalDateTime dateChangement;
+}
@@ -0,0 +1,100 @@
+package org.example.gactifs.Intervention.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.example.gactifs.asset.enums.AssetCategory;
+import org.example.gactifs.asset.models.Asset;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+// Plan de maintenance préventive : une récurrence appliquée soit à tous les actifs d'une catégorie, soit à un actif
+@Entity
+@Table(name = "maintenance_plans", indexes = {
+        @Index(name = "idx_maintenance_plans_actif", columnList = "actif")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MaintenancePlan {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String nom;
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private AssetCategory categorie;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Asset asset;
+
+    @Enumerated(EnumType.STRING)
+    private Frequence frequence;
+
+    // Toutes les « intervalle » périodes (ex. MENSUELLE + 2 : tous les deux mois)
+    private int intervalle;
+
+    private LocalDate dateDebut;
+    private LocalDate dateFin;
+
+    @Enumerated(EnumType.STRING)
+    private Intervention.PrioriteIntervention priorite;
+
+    private Double dureeEstimee;
+
+    // Échéance de chaque intervention = date d'occurrence + délai
+    private int delaiEcheanceJours;
+
+    private boolean actif;
+
+    // Filigrane : occurrences antérieures à cette date déjà générées ; date de début de la dernière génération
+    private LocalDate genereJusqua;
+    private LocalDateTime derniereGeneration;
+
+    private String creePar;
+    private LocalDateTime dateCreation;
+    private LocalDateTime dateModification;
+
+    public enum Frequence {
+        JOURNALIERE(ChronoUnit.DAYS, 1),
+        HEBDOMADAIRE(ChronoUnit.WEEKS, 1),
+        MENSUELLE(ChronoUnit.MONTHS, 1),
+        TRIMESTRIELLE(ChronoUnit.MONTHS, 3),
+        SEMESTRIELLE(ChronoUnit.MONTHS, 6),
+        ANNUELLE(ChronoUnit.YEARS, 1);
+
+        private final ChronoUnit unit;
+        private final int amount;
+
+        Frequence(ChronoUnit unit, int amount) {
+            this.unit = unit;
+            this.amount = amount;
+        }
+
+        // k-ième occurrence calculée depuis le début (évite la dérive des fins de mois)
+        public LocalDate occurrence(LocalDate debut, int intervalle, long k) {
+            return debut.plus(k * amount * Math.max(intervalle, 1), unit);
+        }
+
+        // Plus petit k tel que occurrence(k) >= date, estimé par l'écart en unités puis ajusté (occurrences croissantes)
+        public long firstIndexFrom(LocalDate debut, int intervalle, LocalDate date) {
+            if (!date.isAfter(debut)) {
+                return 0;
+            }
+            long k = unit.between(debut, date) / ((long) amount * Math.max(intervalle, 1));
+            while (k > 0 && !occurrence(debut, intervalle, k - 1).isBefore(date)) {
+                k--;
+            }
+            while (occurrence(debut, intervalle, k).isBefore(date)) {
+                k++;
+            }
+            return k;
+        }
+    }
+}
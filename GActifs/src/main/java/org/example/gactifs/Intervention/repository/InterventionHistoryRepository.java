@@ -0,0 +1,13 @@
+package org.example.gactifs.Intervention.repository;
+
+import org.example.gactifs.Intervention.model.InterventionHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InterventionHistoryRepository extends JpaRepository<InterventionHistory, Long> {
+
+    List<InterventionHistory> findByInterventionIdOrderByDateChangementDescIdDesc(Long interventionId);
+}
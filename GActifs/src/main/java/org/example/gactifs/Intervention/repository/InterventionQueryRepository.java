@@ -0,0 +1,189 @@
+package org.example.gactifs.Intervention.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Intervention.dto.InterventionDTO;
+import org.example.gactifs.Intervention.dto.InterventionFilter;
+import org.example.gactifs.Intervention.model.Intervention;
+import org.example.gactifs.asset.dto.KeysetPage;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Lecture des interventions par projection InterventionDTO (jointures externes sur l'actif,
+ * le technicien et le service), paginée par clé. Chaque combinaison filtre/tri exposée
+ * par le contrôleur correspond à un index composite de la table interventions.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InterventionQueryRepository {
+
+    private static final String SELECT =
+            "SELECT new org.example.gactifs.Intervention.dto.InterventionDTO(i.id, i.numero, i.titre, i.description, " +
+            "i.typeIntervention, i.priorite, i.statut, i.dateCreation, i.dateDebut, i.dateFin, i.dateEcheance, " +
+            "i.dureeEstimee, i.dureeReelle, i.cout, i.creePar, i.validateur, i.dateValidation, " +
+            "a.id, t.id, s.id, a.nom, a.reference, t.firstName, t.lastName, s.nom) " +
+            "FROM Intervention i LEFT JOIN i.asset a LEFT JOIN i.technicienAssigne t LEFT JOIN i.serviceDirection s";
+
+    // Même projection en SQL natif pour les pages : la clé de parcours y est comparée comme une ligne
+    private static final String PAGE_SQL =
+            "SELECT i.id, i.numero, i.titre, i.description, i.type_intervention, i.priorite, i.statut, " +
+            "i.date_creation, i.date_debut, i.date_fin, i.date_echeance, i.duree_estimee, i.duree_reelle, i.cout, " +
+            "i.cree_par, i.validateur, i.date_validation, i.asset_id, i.technicien_assigne_id, i.service_direction_id, " +
+            "a.nom AS asset_nom, a.reference AS asset_reference, t.first_name, t.last_name, s.nom AS service_nom " +
+            "FROM interventions i " +
+            "LEFT JOIN asset a ON a.id = i.asset_id " +
+            "LEFT JOIN users t ON t.id = i.technicien_assigne_id " +
+            "LEFT JOIN service_direction s ON s.id = i.service_direction_id";
+
+    private static final RowMapper<InterventionDTO> MAPPER = (rs, n) -> new InterventionDTO(
+            rs.getLong("id"),
+            rs.getString("numero"),
+            rs.getString("titre"),
+            rs.getString("description"),
+            enumOf(Intervention.TypeIntervention.class, rs.getString("type_intervention")),
+            enumOf(Intervention.PrioriteIntervention.class, rs.getString("priorite")),
+            enumOf(Intervention.StatutIntervention.class, rs.getString("statut")),
+            toLocalDateTime(rs.getTimestamp("date_creation")),
+            toLocalDateTime(rs.getTimestamp("date_debut")),
+            toLocalDateTime(rs.getTimestamp("date_fin")),
+            toLocalDateTime(rs.getTimestamp("date_echeance")),
+            rs.getObject("duree_estimee", Double.class),
+            rs.getObject("duree_reelle", Double.class),
+            rs.getObject("cout", Double.class),
+            rs.getString("cree_par"),
+            rs.getString("validateur"),
+            toLocalDateTime(rs.getTimestamp("date_validation")),
+            rs.getObject("asset_id", Long.class),
+            rs.getObject("technicien_assigne_id", UUID.class),
+            rs.getObject("service_direction_id", Long.class),
+            rs.getString("asset_nom"),
+            rs.getString("asset_reference"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("service_nom"));
+
+    // Ordres de parcours proposés : récentes d'abord, ou échéance la plus proche d'abord
+    public enum Order {
+        RECENT("i.date_creation", false, InterventionDTO::getDateCreation),
+        ECHEANCE("i.date_echeance", true, InterventionDTO::getDateEcheance);
+
+        final String column;
+        final boolean ascending;
+        final Function<InterventionDTO, LocalDateTime> getter;
+
+        Order(String column, boolean ascending, Function<InterventionDTO, LocalDateTime> getter) {
+            this.column = column;
+            this.ascending = ascending;
+            this.getter = getter;
+        }
+    }
+
+    private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Optional<InterventionDTO> findById(Long id) {
+        return entityManager.createQuery(SELECT + " WHERE i.id = :id", InterventionDTO.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    // (colonne, id) comparé comme une ligne : borne de parcours des index (…, colonne, id), quelle que soit la profondeur
+    public KeysetPage<InterventionDTO> find(InterventionFilter filter, Order order, String cursor, int size) {
+        StringBuilder sql = new StringBuilder(PAGE_SQL).append(" WHERE ").append(order.column).append(" IS NOT NULL");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        if (filter.getStatuts() != null && !filter.getStatuts().isEmpty()) {
+            sql.append(" AND i.statut IN (:statuts)");
+            params.addValue("statuts", filter.getStatuts().stream().map(Enum::name).toList());
+        }
+        if (filter.getPriorite() != null) {
+            sql.append(" AND i.priorite = :priorite");
+            params.addValue("priorite", filter.getPriorite().name());
+        }
+        if (filter.getType() != null) {
+            sql.append(" AND i.type_intervention = :type");
+            params.addValue("type", filter.getType().name());
+        }
+        if (filter.getTechnicienId() != null) {
+            sql.append(" AND i.technicien_assigne_id = :technicienId");
+            params.addValue("technicienId", filter.getTechnicienId());
+        }
+        if (filter.getServiceId() != null) {
+            sql.append(" AND i.service_direction_id = :serviceId");
+            params.addValue("serviceId", filter.getServiceId());
+        }
+        if (filter.getAssetId() != null) {
+            sql.append(" AND i.asset_id = :assetId");
+            params.addValue("assetId", filter.getAssetId());
+        }
+        if (filter.getTitre() != null && !filter.getTitre().isBlank()) {
+            sql.append(" AND lower(i.titre) LIKE :titre");
+            params.addValue("titre", "%" + filter.getTitre().trim().toLowerCase() + "%");
+        }
+        range(sql, params, "i.date_creation", "created", filter.getCreatedFrom(), filter.getCreatedTo());
+        range(sql, params, "i.date_echeance", "echeance", filter.getEcheanceFrom(), filter.getEcheanceTo());
+        range(sql, params, "i.date_debut", "debut", filter.getDebutFrom(), filter.getDebutTo());
+
+        String op = order.ascending ? ">" : "<";
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor c = decode(cursor);
+            sql.append(" AND (").append(order.column).append(", i.id) ").append(op).append(" (:cursorDate, :cursorId)");
+            params.addValue("cursorDate", Timestamp.valueOf(c.date()));
+            params.addValue("cursorId", c.id());
+        }
+        String dir = order.ascending ? "ASC" : "DESC";
+        sql.append(" ORDER BY ").append(order.column).append(" ").append(dir).append(", i.id ").append(dir)
+                .append(" LIMIT :limit");
+        params.addValue("limit", size + 1);
+
+        List<InterventionDTO> rows = jdbcTemplate.query(sql.toString(), params, MAPPER);
+        return KeysetPage.of(rows, size, last -> encode(order.getter.apply(last), last.getId()));
+    }
+
+    private static void range(StringBuilder sql, MapSqlParameterSource params, String column, String name,
+                              LocalDateTime from, LocalDateTime to) {
+        if (from != null) {
+            sql.append(" AND ").append(column).append(" >= :").append(name).append("From");
+            params.addValue(name + "From", Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND ").append(column).append(" < :").append(name).append("To");
+            params.addValue(name + "To", Timestamp.valueOf(to));
+        }
+    }
+
+    private static <E extends Enum<E>> E enumOf(Class<E> type, String value) {
+        return value == null ? null : Enum.valueOf(type, value);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp ts) {
+        return ts == null ? null : ts.toLocalDateTime();
+    }
+
+    private record Cursor(LocalDateTime date, Long id) {}
+
+    private static String encode(LocalDateTime date, Long id) {
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Curseur invalide");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.gactifs.Intervention.repository;
+
+import org.example.gactifs.Intervention.model.Intervention;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InterventionRepository extends JpaRepository<Intervention, Long> {
+}
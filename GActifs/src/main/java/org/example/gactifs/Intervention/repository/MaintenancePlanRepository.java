@@ -0,0 +1,17 @@
+package org.example.gactifs.Intervention.repository;
+
+import org.example.gactifs.Intervention.model.MaintenancePlan;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MaintenancePlanRepository extends JpaRepository<MaintenancePlan, Long> {
+
+    @EntityGraph(attributePaths = "asset")
+    List<MaintenancePlan> findAllByOrderByNomAsc();
+
+    List<MaintenancePlan> findByActifTrue();
+}
@@ -0,0 +1,108 @@
+package org.example.gactifs.Intervention.stats;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Agrégats journaliers par (jour de création, service, type, technicien), tenus à jour par deltas.
+ * <p>
+ * Chaque intervention contribue à une seule cellule. Un écrivain retire la contribution des lignes
+ * qu'il va modifier ({@link #remove}, qui les verrouille), les modifie, puis ajoute leur nouvelle
+ * contribution ({@link #add}) dans la même transaction : l'écart est appliqué par un upsert additif,
+ * que la modification porte sur une ligne ou sur un lot.
+ */
+@Component
+@RequiredArgsConstructor
+public class InterventionStatsRollup {
+
+    public static final String NO_TECHNICIAN = "00000000-0000-0000-0000-000000000000";
+
+    // Colonne -> agrégat sur interventions ; les colonnes « somme_ » sont des doubles, les autres des compteurs
+    static final Map<String, String> MEASURES = new LinkedHashMap<>();
+
+    static {
+        MEASURES.put("total", "count(*)");
+        MEASURES.put("planifiees", "count(*) FILTER (WHERE statut = 'PLANIFIEE')");
+        MEASURES.put("en_attente", "count(*) FILTER (WHERE statut = 'EN_ATTENTE')");
+        MEASURES.put("en_cours", "count(*) FILTER (WHERE statut = 'EN_COURS')");
+        MEASURES.put("suspendues", "count(*) FILTER (WHERE statut = 'SUSPENDUE')");
+        MEASURES.put("terminees", "count(*) FILTER (WHERE statut = 'TERMINEE')");
+        MEASURES.put("annulees", "count(*) FILTER (WHERE statut = 'ANNULEE')");
+        MEASURES.put("validees", "count(*) FILTER (WHERE statut = 'VALIDEE')");
+        MEASURES.put("critiques", "count(*) FILTER (WHERE priorite = 'CRITIQUE')");
+        MEASURES.put("avec_cout", "count(cout)");
+        MEASURES.put("somme_cout", "coalesce(sum(cout), 0)");
+        MEASURES.put("durees", "count(duree_reelle)");
+        MEASURES.put("somme_duree_reelle", "coalesce(sum(duree_reelle), 0)");
+        MEASURES.put("durees_comparees", "count(*) FILTER (WHERE duree_reelle IS NOT NULL AND duree_estimee IS NOT NULL)");
+        MEASURES.put("somme_reelle_comparee", "coalesce(sum(duree_reelle) FILTER (WHERE duree_estimee IS NOT NULL), 0)");
+        MEASURES.put("somme_estimee_comparee", "coalesce(sum(duree_estimee) FILTER (WHERE duree_reelle IS NOT NULL), 0)");
+        MEASURES.put("closes_avec_echeance", "count(*) FILTER (WHERE statut IN ('TERMINEE', 'VALIDEE') " +
+                "AND date_fin IS NOT NULL AND date_echeance IS NOT NULL)");
+        MEASURES.put("closes_a_temps", "count(*) FILTER (WHERE statut IN ('TERMINEE', 'VALIDEE') " +
+                "AND date_fin IS NOT NULL AND date_fin <= date_echeance)");
+    }
+
+    private static final String KEYS = "jour, service_id, type_intervention, technicien_id";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO " + InterventionStatsSchema.TABLE + " (" + KEYS + ", " + String.join(", ", MEASURES.keySet()) + ") " +
+            "SELECT date_creation::date, coalesce(service_direction_id, 0), coalesce(type_intervention, ''), " +
+            "coalesce(technicien_assigne_id, '" + NO_TECHNICIAN + "'::uuid), " +
+            MEASURES.values().stream().map(m -> ":sign * " + m).collect(Collectors.joining(", ")) + " " +
+            "FROM interventions WHERE date_creation IS NOT NULL AND %s GROUP BY 1, 2, 3, 4 " +
+            "ON CONFLICT (" + KEYS + ") DO UPDATE SET " +
+            MEASURES.keySet().stream()
+                    .map(c -> c + " = " + InterventionStatsSchema.TABLE + "." + c + " + EXCLUDED." + c)
+                    .collect(Collectors.joining(", "));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            upsert("id IN (:ids)", new MapSqlParameterSource("ids", ids), 1);
+        }
+    }
+
+    // Le verrou posé ici empêche un écrivain concurrent de retirer deux fois le même état
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+            jdbcTemplate.query("SELECT id FROM interventions WHERE id IN (:ids) FOR UPDATE", params, rs -> {});
+            upsert("id IN (:ids)", params, -1);
+        }
+    }
+
+    // Interventions insérées en masse par une génération de plan de maintenance
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addPlanRun(long planId, LocalDateTime createdAt) {
+        upsert("plan_id = :planId AND date_creation = :createdAt", new MapSqlParameterSource()
+                .addValue("planId", planId)
+                .addValue("createdAt", Timestamp.valueOf(createdAt)), 1);
+    }
+
+    // Reconstruction complète ; le verrou fait attendre les deltas concurrents jusqu'à la validation
+    @Transactional
+    public void rebuild() {
+        jdbcTemplate.getJdbcTemplate().execute("LOCK TABLE " + InterventionStatsSchema.TABLE + " IN EXCLUSIVE MODE");
+        jdbcTemplate.getJdbcTemplate().execute("DELETE FROM " + InterventionStatsSchema.TABLE);
+        upsert("true", new MapSqlParameterSource(), 1);
+    }
+
+    private void upsert(String condition, MapSqlParameterSource params, int sign) {
+        jdbcTemplate.update(String.format(UPSERT_SQL, condition), params.addValue("sign", sign));
+    }
+}
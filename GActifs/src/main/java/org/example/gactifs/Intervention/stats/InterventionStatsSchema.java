@@ -0,0 +1,36 @@
+package org.example.gactifs.Intervention.stats;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Table des agrégats journaliers d'interventions. La clé reprend des valeurs sentinelles plutôt que NULL
+ * (service 0, type '', technicien nul) pour que ON CONFLICT s'applique à toutes les cellules.
+ */
+@Component
+@RequiredArgsConstructor
+public class InterventionStatsSchema implements CommandLineRunner {
+
+    public static final String TABLE = "intervention_stats_daily";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InterventionStatsRollup rollup;
+
+    @Override
+    public void run(String... args) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " (" +
+                "jour date NOT NULL, service_id bigint NOT NULL, type_intervention varchar(40) NOT NULL, " +
+                "technicien_id uuid NOT NULL, PRIMARY KEY (jour, service_id, type_intervention, technicien_id))");
+        // Colonnes de mesure ajoutées une à une : une nouvelle mesure n'exige qu'un rebuild
+        for (String measure : InterventionStatsRollup.MEASURES.keySet()) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD COLUMN IF NOT EXISTS " + measure +
+                    (measure.startsWith("somme_") ? " double precision" : " bigint") + " NOT NULL DEFAULT 0");
+        }
+        // Premier démarrage : alimentation initiale depuis les interventions existantes
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM " + TABLE + ")", Boolean.class))) {
+            rollup.rebuild();
+        }
+    }
+}
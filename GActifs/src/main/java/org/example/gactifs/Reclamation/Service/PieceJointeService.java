@@ -0,0 +1,89 @@
+package org.example.gactifs.Reclamation.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Reclamation.attachment.AttachmentStore;
+import org.example.gactifs.Reclamation.attachment.AttachmentSweeper;
+import org.example.gactifs.Reclamation.dto.PieceJointeDto;
+import org.example.gactifs.Reclamation.model.PieceJointe;
+import org.example.gactifs.Reclamation.model.Reclamation;
+import org.example.gactifs.Reclamation.repository.PieceJointeRepository;
+import org.example.gactifs.Reclamation.repository.ReclamationRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+@Service
+@RequiredArgsConstructor
+public class PieceJointeService {
+
+    private final ReclamationRepository reclamationRepository;
+    private final PieceJointeRepository pieceJointeRepository;
+    private final AttachmentStore attachmentStore;
+    private final TransactionTemplate transactionTemplate;
+    private final AttachmentSweeper attachmentSweeper;
+
+    /**
+     * Le contenu est écrit avant toute requête : aucune connexion du pool n'est tenue pendant la lecture
+     * du flux (avec open-in-view, une connexion obtenue plus tôt resterait attachée à la requête HTTP).
+     * La ligne est ensuite enregistrée dans une transaction courte, sous le verrou de l'empreinte partagé
+     * avec {@link AttachmentSweeper} ; si elle échoue (réclamation absente), le contenu orphelin sera balayé.
+     */
+    public PieceJointeDto upload(Long reclamationId, String nomFichier, String typeFichier, InputStream content)
+            throws IOException {
+        AttachmentStore.StoredObject stored = attachmentStore.put(content);
+        return transactionTemplate.execute(status -> {
+            attachmentSweeper.lock(stored.sha256());
+            if (attachmentStore.find(stored.sha256()).isEmpty()) {
+                throw new IllegalStateException("Contenu supprimé pendant l'envoi, veuillez réessayer");
+            }
+            Reclamation reclamation = reclamationRepository.findById(reclamationId)
+                    .orElseThrow(() -> new NoSuchElementException("Réclamation non trouvée"));
+            PieceJointe pj = pieceJointeRepository.save(PieceJointe.builder()
+                    .nomFichier(nomFichier)
+                    .typeFichier(typeFichier)
+                    .tailleFichier(stored.size())
+                    .cheminFichier(stored.location())
+                    .sha256(stored.sha256())
+                    .dateAjout(LocalDateTime.now())
+                    .build());
+            if (reclamation.getPieceJointes() == null) {
+                reclamation.setPieceJointes(new ArrayList<>());
+            }
+            reclamation.getPieceJointes().add(pj);
+            return PieceJointeDto.from(pj);
+        });
+    }
+
+    public List<PieceJointeDto> list(Long reclamationId) {
+        return pieceJointeRepository.findByReclamation(reclamationId).stream()
+                .map(PieceJointeDto::from)
+                .toList();
+    }
+
+    public PieceJointe get(Long reclamationId, Long id) {
+        return pieceJointeRepository.findByReclamationAndId(reclamationId, id)
+                .orElseThrow(() -> new NoSuchElementException("Pièce jointe non trouvée"));
+    }
+
+    public SeekableByteChannel openContent(PieceJointe pj) throws IOException {
+        return attachmentStore.open(pj.getSha256());
+    }
+
+    @Transactional
+    public void delete(Long reclamationId, Long id) {
+        Reclamation reclamation = reclamationRepository.findById(reclamationId)
+                .orElseThrow(() -> new NoSuchElementException("Réclamation non trouvée"));
+        PieceJointe pj = get(reclamationId, id);
+        reclamation.getPieceJointes().remove(pj);
+        pieceJointeRepository.delete(pj);
+        // Le contenu, éventuellement partagé, est supprimé plus tard par AttachmentSweeper s'il n'est plus référencé
+    }
+}
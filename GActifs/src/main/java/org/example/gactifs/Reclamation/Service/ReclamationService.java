@@ -1,10 +1,27 @@
 package org.example.gactifs.Reclamation.Service;
 import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Reclamation.dto.ReclamationDto;
+import org.example.gactifs.Reclamation.dto.ReclamationFilter;
+import org.example.gactifs.Reclamation.dto.ReclamationSearchHit;
 import org.example.gactifs.Reclamation.model.Reclamation;
+import org.example.gactifs.Reclamation.repository.ReclamationQueryRepository;
 import org.example.gactifs.Reclamation.repository.ReclamationRepository;
+import org.example.gactifs.Reclamation.search.ReclamationSearchRepository;
+import org.example.gactifs.Reclamation.sla.DeadlineScheduler;
+import org.example.gactifs.Reclamation.stats.ResolutionSample;
+import org.example.gactifs.Reclamation.stats.ResolutionStatsService;
+import org.example.gactifs.Reclamation.triage.TriageEngine;
+import org.example.gactifs.Reclamation.triage.TriageSuggestion;
+import org.example.gactifs.asset.dto.KeysetPage;
+import org.example.gactifs.asset.repository.ServiceDirectionRepository;
+import org.example.gactifs.common.numbering.NumberingService;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -12,26 +29,51 @@ import java.util.NoSuchElementException;
 @RequiredArgsConstructor
 public class ReclamationService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ReclamationRepository reclamationRepository;
+    private final ReclamationQueryRepository reclamationQueryRepository;
+    private final ReclamationSearchRepository reclamationSearchRepository;
+    private final NumberingService numberingService;
+    private final DeadlineScheduler deadlineScheduler;
+    private final ResolutionStatsService resolutionStats;
+    private final TriageEngine triageEngine;
+    private final ServiceDirectionRepository serviceDirectionRepository;
 
-    public List<Reclamation> getAll() {
-        return reclamationRepository.findAll();
+    public KeysetPage<ReclamationDto> getAll(ReclamationFilter filter, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return reclamationQueryRepository.find(filter, cursor, pageSize);
     }
 
-    public Reclamation getById(Long id) {
-        return reclamationRepository.findById(id)
+    public KeysetPage<ReclamationSearchHit> search(String q, Reclamation.StatutReclamation statut,
+                                                   Reclamation.PrioriteReclamation priorite, String cursor, int size) {
+        if (q == null || q.isBlank()) {
+            throw new IllegalArgumentException("Le texte recherché est obligatoire");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return reclamationSearchRepository.search(q.trim(), statut, priorite, cursor, pageSize);
+    }
+
+    public ReclamationDto getById(Long id) {
+        return reclamationQueryRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Réclamation non trouvée"));
     }
 
-    public Reclamation create(Reclamation reclamation) {
+    public ReclamationDto create(Reclamation reclamation) {
         reclamation.setDateCreation(LocalDateTime.now());
         reclamation.setStatut(Reclamation.StatutReclamation.NOUVELLE);
-        reclamation.setNumero(generateNumero());
-        return reclamationRepository.save(reclamation);
+        applyTriage(reclamation);
+        reclamation.setNumero(numberingService.nextReclamationNumero());
+        Reclamation saved = reclamationRepository.save(reclamation);
+        deadlineScheduler.track(saved, null, false);
+        return getById(saved.getId());
     }
 
-    public Reclamation update(Long id, Reclamation data) {
-        Reclamation reclamation = getById(id);
+    public ReclamationDto update(Long id, Reclamation data) {
+        Reclamation reclamation = load(id);
+        ResolutionSample before = ResolutionSample.of(reclamation);
+        LocalDateTime previousEcheance = reclamation.getDateEcheance();
+        boolean previouslyOpen = DeadlineScheduler.OPEN.contains(reclamation.getStatut());
         reclamation.setObjet(data.getObjet());
         reclamation.setDescription(data.getDescription());
         reclamation.setTypeReclamation(data.getTypeReclamation());
@@ -41,20 +83,105 @@ public class ReclamationService {
         reclamation.setResolution(data.getResolution());
         reclamation.setSatisfactionClient(data.getSatisfactionClient());
         reclamation.setCout(data.getCout());
-        return reclamationRepository.save(reclamation);
+        Reclamation saved = reclamationRepository.save(reclamation);
+        deadlineScheduler.track(saved, previousEcheance, previouslyOpen);
+        resolutionStats.replace(before, ResolutionSample.of(saved));
+        return getById(id);
     }
 
     public void delete(Long id) {
+        ResolutionSample before = reclamationRepository.findById(id).map(ResolutionSample::of).orElse(null);
         reclamationRepository.deleteById(id);
+        deadlineScheduler.untrack(id);
+        resolutionStats.replace(before, null);
     }
 
-    public Reclamation changerStatut(Long id, Reclamation.StatutReclamation statut) {
-        Reclamation reclamation = getById(id);
+    public ReclamationDto changerStatut(Long id, Reclamation.StatutReclamation statut) {
+        Reclamation reclamation = load(id);
+        ResolutionSample before = ResolutionSample.of(reclamation);
+        boolean previouslyOpen = DeadlineScheduler.OPEN.contains(reclamation.getStatut());
         reclamation.setStatut(statut);
-        return reclamationRepository.save(reclamation);
+        if (ResolutionSample.RESOLVED.contains(statut)) {
+            // RESOLUE puis FERMEE : la résolution garde sa première date
+            if (reclamation.getDateResolution() == null) {
+                LocalDateTime now = LocalDateTime.now();
+                reclamation.setDateResolution(now);
+                if (reclamation.getDateCreation() != null) {
+                    long minutes = Duration.between(reclamation.getDateCreation(), now).toMinutes();
+                    reclamation.setTempsResolution((int) Math.ceil(minutes / 60.0));
+                }
+            }
+        } else {
+            reclamation.setDateResolution(null);
+            reclamation.setTempsResolution(null);
+        }
+        Reclamation saved = reclamationRepository.save(reclamation);
+        deadlineScheduler.track(saved, saved.getDateEcheance(), previouslyOpen);
+        resolutionStats.replace(before, ResolutionSample.of(saved));
+        return getById(id);
+    }
+
+    // Réclamations ouvertes dont l'échéance est passée, lues dans l'index en mémoire puis projetées par id
+    public KeysetPage<ReclamationDto> getOverdue(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<DeadlineScheduler.Deadline> deadlines = deadlineScheduler.overdue(decodeDeadline(cursor), pageSize + 1);
+        boolean hasNext = deadlines.size() > pageSize;
+        List<DeadlineScheduler.Deadline> page = hasNext ? deadlines.subList(0, pageSize) : deadlines;
+        List<ReclamationDto> content = reclamationQueryRepository.findByIds(
+                page.stream().map(DeadlineScheduler.Deadline::id).toList());
+        return KeysetPage.<ReclamationDto>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeDeadline(page.get(page.size() - 1)) : null)
+                .build();
+    }
+
+    private static String encodeDeadline(DeadlineScheduler.Deadline d) {
+        String raw = d.due() + "|" + d.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static DeadlineScheduler.Deadline decodeDeadline(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new DeadlineScheduler.Deadline(Long.parseLong(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Curseur invalide");
+        }
+    }
+
+    public TriageSuggestion suggestTriage(String objet, String description) {
+        return triageEngine.suggest(objet, description);
+    }
+
+    // Reconstruit l'automate depuis les règles en base ; renvoie le nombre de mots-clés chargés
+    public int reloadTriage() throws IOException {
+        return triageEngine.reload(true);
     }
 
-    private String generateNumero() {
-        return "REC-" + System.currentTimeMillis();
+    // Complète le type et le service laissés vides ; la priorité n'est que relevée, jamais abaissée
+    private void applyTriage(Reclamation reclamation) {
+        TriageSuggestion suggestion = triageEngine.suggest(reclamation.getObjet(), reclamation.getDescription());
+        if (reclamation.getTypeReclamation() == null) {
+            reclamation.setTypeReclamation(suggestion.getTypeReclamation());
+        }
+        Reclamation.PrioriteReclamation priorite = suggestion.getPriorite();
+        if (priorite != null && (reclamation.getPriorite() == null || priorite.ordinal() < reclamation.getPriorite().ordinal())) {
+            reclamation.setPriorite(priorite);
+        }
+        if (reclamation.getServiceDirection() == null && suggestion.getServiceCode() != null) {
+            serviceDirectionRepository.findFirstByCodeIgnoreCase(suggestion.getServiceCode())
+                    .ifPresent(reclamation::setServiceDirection);
+        }
+    }
+
+    private Reclamation load(Long id) {
+        return reclamationRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Réclamation non trouvée"));
     }
 }
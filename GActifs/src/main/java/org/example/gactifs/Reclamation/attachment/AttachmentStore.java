@@ -0,0 +1,32 @@
+package org.example.gactifs.Reclamation.attachment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Stockage des pièces jointes adressé par contenu : la clé d'un fichier est son SHA-256,
+ * deux fichiers identiques ne sont donc stockés qu'une fois.
+ */
+public interface AttachmentStore {
+
+    // Lit le flux jusqu'au bout sans le garder en mémoire et renvoie l'empreinte calculée à l'écriture
+    StoredObject put(InputStream content) throws IOException;
+
+    Optional<StoredObject> find(String sha256);
+
+    SeekableByteChannel open(String sha256) throws IOException;
+
+    void delete(String sha256) throws IOException;
+
+    // Empreintes des contenus non réécrits depuis cutoff (put rafraîchit la date d'un contenu existant) ; flux à fermer
+    Stream<String> listOlderThan(Instant cutoff) throws IOException;
+
+    // Supprime le contenu seulement s'il n'a pas été réécrit depuis cutoff
+    boolean deleteIfOlderThan(String sha256, Instant cutoff) throws IOException;
+
+    record StoredObject(String sha256, long size, String location) {}
+}
@@ -0,0 +1,110 @@
+package org.example.gactifs.Reclamation.attachment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Suppression différée des contenus que plus aucune pièce jointe ne référence.
+ * <p>
+ * Un contenu partagé ne peut pas être supprimé à la suppression d'une pièce jointe : un envoi du même
+ * fichier peut s'y rattacher entre le comptage et la suppression. Le balayage et l'enregistrement d'un
+ * envoi prennent donc le même verrou consultatif sur l'empreinte ; sous ce verrou, le balayage ne
+ * supprime qu'un contenu sans référence et non réécrit depuis {@code grace}, et l'envoi vérifie que
+ * son contenu existe encore avant d'insérer la ligne.
+ */
+@Component
+public class AttachmentSweeper {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext(:sha256))";
+
+    private static final String REFERENCED_SQL = "SELECT DISTINCT sha256 FROM piece_jointes WHERE sha256 IN (:hashes)";
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM piece_jointes WHERE sha256 = :sha256";
+
+    private final AttachmentStore attachmentStore;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration grace;
+
+    public AttachmentSweeper(AttachmentStore attachmentStore, NamedParameterJdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${application.attachments.orphan-grace:3600000}") long graceMillis) {
+        this.attachmentStore = attachmentStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.grace = Duration.ofMillis(graceMillis);
+    }
+
+    // À appeler dans la transaction qui lit ou modifie les références à ce contenu
+    public void lock(String sha256) {
+        jdbcTemplate.query(LOCK_SQL, new MapSqlParameterSource("sha256", sha256), rs -> null);
+    }
+
+    @Scheduled(cron = "${application.attachments.sweep-cron:0 15 * * * *}")
+    public void scheduledSweep() {
+        sweep();
+    }
+
+    public int sweep() {
+        Instant cutoff = Instant.now().minus(grace);
+        int deleted = 0;
+        try (Stream<String> candidates = attachmentStore.listOlderThan(cutoff)) {
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            for (String sha256 : (Iterable<String>) candidates::iterator) {
+                batch.add(sha256);
+                if (batch.size() == BATCH_SIZE) {
+                    deleted += sweep(batch, cutoff);
+                    batch.clear();
+                }
+            }
+            deleted += sweep(batch, cutoff);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return deleted;
+    }
+
+    // Filtre par lot les contenus référencés, puis revérifie chaque candidat sous le verrou de son empreinte
+    private int sweep(List<String> batch, Instant cutoff) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Set<String> referenced = new HashSet<>(jdbcTemplate.queryForList(REFERENCED_SQL,
+                new MapSqlParameterSource("hashes", batch), String.class));
+        int deleted = 0;
+        for (String sha256 : batch) {
+            if (referenced.contains(sha256)) {
+                continue;
+            }
+            Boolean removed = transactionTemplate.execute(status -> {
+                lock(sha256);
+                Long count = jdbcTemplate.queryForObject(COUNT_SQL, new MapSqlParameterSource("sha256", sha256), Long.class);
+                try {
+                    return count != null && count == 0 && attachmentStore.deleteIfOlderThan(sha256, cutoff);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (Boolean.TRUE.equals(removed)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+}
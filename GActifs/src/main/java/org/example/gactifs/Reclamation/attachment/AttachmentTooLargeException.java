@@ -0,0 +1,17 @@
+package org.example.gactifs.Reclamation.attachment;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class AttachmentTooLargeException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public AttachmentTooLargeException(long maxSize) {
+        super("Pièce jointe trop volumineuse (maximum " + maxSize + " octets)");
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.gactifs.Reclamation.attachment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Implémentation sur le système de fichiers local. Le flux est écrit dans un fichier
+ * temporaire en calculant le SHA-256 au passage, puis déplacé atomiquement vers
+ * racine/ab/cd/abcd... ; s'il existe déjà, le temporaire est simplement supprimé.
+ */
+@Component
+public class LocalAttachmentStore implements AttachmentStore {
+
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Path tmp;
+    private final long maxSize;
+
+    public LocalAttachmentStore(@Value("${application.attachments.root:attachments}") String root,
+                                @Value("${application.attachments.max-size:104857600}") long maxSize) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.tmp = Files.createDirectories(this.root.resolve("tmp"));
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public StoredObject put(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(tmp, "upload-", ".part");
+        long size = 0;
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw new AttachmentTooLargeException(maxSize);
+                    }
+                    digest.update(buffer, 0, read);
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        out.write(chunk);
+                    }
+                }
+                out.force(false);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(hash);
+            // Un contenu déjà présent est rafraîchi : le balayage des orphelins ne le supprime pas sous l'envoi
+            if (!touch(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Même contenu déposé en parallèle : la copie existante fait foi
+                    touch(target);
+                }
+            }
+            return new StoredObject(hash, size, root.relativize(target).toString());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> find(String sha256) {
+        Path path = pathOf(sha256);
+        try {
+            return Optional.of(new StoredObject(sha256, Files.size(path), root.relativize(path).toString()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new IllegalStateException("Lecture impossible de la pièce jointe " + sha256, e);
+        }
+    }
+
+    @Override
+    public SeekableByteChannel open(String sha256) throws IOException {
+        return FileChannel.open(pathOf(sha256), StandardOpenOption.READ);
+    }
+
+    @Override
+    public void delete(String sha256) throws IOException {
+        Files.deleteIfExists(pathOf(sha256));
+    }
+
+    @Override
+    public Stream<String> listOlderThan(Instant cutoff) throws IOException {
+        return Files.walk(root, 3)
+                .filter(path -> !path.startsWith(tmp) && SHA256.matcher(path.getFileName().toString()).matches())
+                .filter(path -> modifiedBefore(path, cutoff))
+                .map(path -> path.getFileName().toString());
+    }
+
+    @Override
+    public boolean deleteIfOlderThan(String sha256, Instant cutoff) throws IOException {
+        Path path = pathOf(sha256);
+        return modifiedBefore(path, cutoff) && Files.deleteIfExists(path);
+    }
+
+    private static boolean touch(Path path) throws IOException {
+        try {
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static boolean modifiedBefore(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Path pathOf(String sha256) {
+        if (sha256 == null || !SHA256.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Empreinte invalide");
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.gactifs.Reclamation.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Reclamation.Service.PieceJointeService;
+import org.example.gactifs.Reclamation.dto.PieceJointeDto;
+import org.example.gactifs.Reclamation.model.PieceJointe;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Pièces jointes d'une réclamation. Le dépôt attend le contenu brut dans le corps de la requête
+ * (pas de multipart) afin qu'il soit écrit sur disque au fil de la lecture ; le téléchargement
+ * gère l'en-tête Range (une seule plage) et la revalidation par ETag (SHA-256 du contenu).
+ */
+@RestController
+@RequestMapping("/api/reclamations/{id}/pieces-jointes")
+@RequiredArgsConstructor
+public class PieceJointeController {
+
+    private final PieceJointeService pieceJointeService;
+
+    @PostMapping(consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<PieceJointeDto> upload(@PathVariable Long id, @RequestParam String nomFichier,
+                                                 HttpServletRequest request) throws IOException {
+        String type = request.getContentType() != null ? request.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        PieceJointeDto dto = pieceJointeService.upload(id, nomFichier, type, request.getInputStream());
+        return ResponseEntity.status(HttpStatus.CREATED).body(dto);
+    }
+
+    @GetMapping
+    public List<PieceJointeDto> list(@PathVariable Long id) {
+        return pieceJointeService.list(id);
+    }
+
+    @GetMapping("/{pieceId}")
+    public void download(@PathVariable Long id, @PathVariable Long pieceId,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        PieceJointe pj = pieceJointeService.get(id, pieceId);
+        String etag = "\"" + pj.getSha256() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(etag))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        try (SeekableByteChannel channel = pieceJointeService.openContent(pj)) {
+            long size = channel.size();
+            long start = 0;
+            long end = size - 1;
+            boolean partial = false;
+
+            String range = request.getHeader(HttpHeaders.RANGE);
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            if (range != null && (ifRange == null || ifRange.equals(etag))) {
+                try {
+                    List<HttpRange> ranges = HttpRange.parseRanges(range);
+                    // Plusieurs plages : on renvoie le fichier entier, ce que la RFC 9110 autorise
+                    if (ranges.size() == 1) {
+                        start = ranges.get(0).getRangeStart(size);
+                        end = ranges.get(0).getRangeEnd(size);
+                        partial = true;
+                    }
+                } catch (IllegalArgumentException e) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+            }
+
+            long length = end - start + 1;
+            response.setContentType(pj.getTypeFichier() != null ? pj.getTypeFichier() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setContentLengthLong(Math.max(length, 0));
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(pj.getNomFichier() != null ? pj.getNomFichier() : pj.getSha256(), StandardCharsets.UTF_8)
+                    .build().toString());
+            if (partial) {
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+            if (length > 0) {
+                transfer(channel, start, length, response.getOutputStream());
+            }
+        }
+    }
+
+    @DeleteMapping("/{pieceId}")
+    public ResponseEntity<Void> delete(@PathVariable Long id, @PathVariable Long pieceId) throws IOException {
+        pieceJointeService.delete(id, pieceId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // FileChannel.transferTo laisse le noyau copier directement depuis le cache de pages quand c'est possible
+    private static void transfer(SeekableByteChannel channel, long start, long length, OutputStream out) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        if (channel instanceof FileChannel file) {
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+            return;
+        }
+        channel.position(start);
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long remaining = length;
+        while (remaining > 0) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), remaining));
+            int read = channel.read(buffer);
+            if (read < 0) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            remaining -= read;
+        }
+    }
+}
@@ -1,11 +1,21 @@
 package org.example.gactifs.Reclamation.controller;
 import lombok.RequiredArgsConstructor;
 import org.example.gactifs.Reclamation.Service.ReclamationService;
+import org.example.gactifs.Reclamation.dto.ReclamationDto;
+import org.example.gactifs.Reclamation.dto.ReclamationFilter;
+import org.example.gactifs.Reclamation.dto.ReclamationSearchHit;
 import org.example.gactifs.Reclamation.model.Reclamation;
+import org.example.gactifs.Reclamation.triage.TriageSuggestion;
+import org.example.gactifs.asset.dto.KeysetPage;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/reclamations")
@@ -15,22 +25,69 @@ public class ReclamationController {
     private final ReclamationService reclamationService;
 
     @GetMapping
-    public List<Reclamation> getAll() {
-        return reclamationService.getAll();
+    public KeysetPage<ReclamationDto> getAll(
+            @RequestParam(required = false) Reclamation.StatutReclamation statut,
+            @RequestParam(required = false) Reclamation.PrioriteReclamation priorite,
+            @RequestParam(required = false) Reclamation.TypeReclamation type,
+            @RequestParam(required = false) UUID technicienId,
+            @RequestParam(required = false) Long serviceId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        ReclamationFilter filter = ReclamationFilter.builder()
+                .statut(statut)
+                .priorite(priorite)
+                .type(type)
+                .technicienId(technicienId)
+                .serviceId(serviceId)
+                .from(from)
+                .to(to)
+                .build();
+        return reclamationService.getAll(filter, cursor, size);
+    }
+
+    @GetMapping("/search")
+    public KeysetPage<ReclamationSearchHit> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Reclamation.StatutReclamation statut,
+            @RequestParam(required = false) Reclamation.PrioriteReclamation priorite,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return reclamationService.search(q, statut, priorite, cursor, size);
+    }
+
+    // Aperçu du pré-tri pour l'objet et la description saisis, sans rien enregistrer
+    @PostMapping("/triage")
+    public TriageSuggestion triage(@RequestBody Reclamation reclamation) {
+        return reclamationService.suggestTriage(reclamation.getObjet(), reclamation.getDescription());
+    }
+
+    // Reconstruction complète de l'automate : réservée aux administrateurs
+    @PostMapping("/triage/reload")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Integer> reloadTriage() throws IOException {
+        return Map.of("motsCles", reclamationService.reloadTriage());
+    }
+
+    @GetMapping("/overdue")
+    public KeysetPage<ReclamationDto> getOverdue(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        return reclamationService.getOverdue(cursor, size);
     }
 
     @GetMapping("/{id}")
-    public Reclamation getById(@PathVariable Long id) {
+    public ReclamationDto getById(@PathVariable Long id) {
         return reclamationService.getById(id);
     }
 
     @PostMapping
-    public Reclamation create(@RequestBody Reclamation reclamation) {
+    public ReclamationDto create(@RequestBody Reclamation reclamation) {
         return reclamationService.create(reclamation);
     }
 
     @PutMapping("/{id}")
-    public Reclamation update(@PathVariable Long id, @RequestBody Reclamation data) {
+    public ReclamationDto update(@PathVariable Long id, @RequestBody Reclamation data) {
         return reclamationService.update(id, data);
     }
 
@@ -41,7 +98,7 @@ public class ReclamationController {
     }
 
     @PatchMapping("/{id}/statut")
-    public Reclamation changerStatut(@PathVariable Long id, @RequestParam Reclamation.StatutReclamation statut) {
+    public ReclamationDto changerStatut(@PathVariable Long id, @RequestParam Reclamation.StatutReclamation statut) {
         return reclamationService.changerStatut(id, statut);
     }
 }
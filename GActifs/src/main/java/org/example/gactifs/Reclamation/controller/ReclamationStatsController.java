@@ -0,0 +1,41 @@
+package org.example.gactifs.Reclamation.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Reclamation.model.Reclamation;
+import org.example.gactifs.Reclamation.stats.ResolutionStatsDto;
+import org.example.gactifs.Reclamation.stats.ResolutionStatsService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/reclamations/stats")
+@RequiredArgsConstructor
+public class ReclamationStatsController {
+
+    private final ResolutionStatsService resolutionStatsService;
+
+    @GetMapping
+    public ResolutionStatsDto get(@RequestParam(required = false) Reclamation.TypeReclamation type,
+                                  @RequestParam(required = false) Reclamation.PrioriteReclamation priorite) {
+        return resolutionStatsService.get(type, priorite);
+    }
+
+    @GetMapping("/period")
+    public ResolutionStatsDto getForPeriod(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Reclamation.TypeReclamation type,
+            @RequestParam(required = false) Reclamation.PrioriteReclamation priorite,
+            @RequestParam(required = false) Long serviceId) {
+        return resolutionStatsService.getForPeriod(from, to, type, priorite, serviceId);
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        resolutionStatsService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.gactifs.Reclamation.dto;
+
+import lombok.*;
+import org.example.gactifs.Reclamation.model.PieceJointe;
+
+import java.time.LocalDateTime;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class PieceJointeDto {
+    private Long id;
+    private String nomFichier;
+    private String typeFichier;
+    private Long tailleFichier;
+    private String sha256;
+    private LocalDateTime dateAjout;
+
+    public static PieceJointeDto from(PieceJointe p) {
+        return PieceJointeDto.builder()
+                .id(p.getId())
+                .nomFichier(p.getNomFichier())
+                .typeFichier(p.getTypeFichier())
+                .tailleFichier(p.getTailleFichier())
+                .sha256(p.getSha256())
+                .dateAjout(p.getDateAjout())
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.gactifs.Reclamation.dto;
+
+import lombok.*;
+import org.example.gactifs.Reclamation.model.Reclamation;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Vue à plat d'une réclamation : seuls les identifiants et libellés des entités liées sont exposés
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ReclamationDto {
+    private Long id;
+    private String numero;
+    private String objet;
+    private String description;
+    private Reclamation.TypeReclamation typeReclamation;
+    private Reclamation.PrioriteReclamation priorite;
+    private Reclamation.StatutReclamation statut;
+    private LocalDateTime dateCreation;
+    private LocalDateTime dateEcheance;
+    private LocalDateTime dateResolution;
+    private String reclamantNom;
+    private String reclamantEmail;
+    private String reclamantTelephone;
+    private String resolution;
+    private Integer satisfactionClient;
+    private Double cout;
+    private Integer tempsResolution;
+    private UUID technicienId;
+    private String technicienPrenom;
+    private String technicienNom;
+    private Long serviceId;
+    private String serviceNom;
+    private Long assetId;
+    private String assetReference;
+    private String assetNom;
+}
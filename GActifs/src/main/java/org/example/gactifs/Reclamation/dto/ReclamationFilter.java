@@ -0,0 +1,21 @@
+package org.example.gactifs.Reclamation.dto;
+
+import lombok.*;
+import org.example.gactifs.Reclamation.model.Reclamation;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReclamationFilter {
+    private Reclamation.StatutReclamation statut;
+    private Reclamation.PrioriteReclamation priorite;
+    private Reclamation.TypeReclamation type;
+    private UUID technicienId;
+    private Long serviceId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+}
@@ -0,0 +1,21 @@
+package org.example.gactifs.Reclamation.dto;
+
+import lombok.*;
+import org.example.gactifs.Reclamation.model.Reclamation;
+
+import java.time.LocalDateTime;
+
+// Résultat de recherche : les termes trouvés sont entourés de <mark> dans objetSurligne et extrait (texte échappé en HTML)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ReclamationSearchHit {
+    private Long id;
+    private String numero;
+    private String objet;
+    private Reclamation.TypeReclamation typeReclamation;
+    private Reclamation.PrioriteReclamation priorite;
+    private Reclamation.StatutReclamation statut;
+    private LocalDateTime dateCreation;
+    private float rank;
+    private String objetSurligne;
+    private String extrait;
+}
@@ -7,13 +7,15 @@ import java.time.LocalDateTime;
 
 
 @Entity
-@Table(name = "piece_jointes")
+@Table(name = "piece_jointes", indexes = {
+        @Index(name = "idx_piece_jointes_sha256", columnList = "sha256")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-class PieceJointe {
+public class PieceJointe {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -21,6 +23,8 @@ class PieceJointe {
     private String typeFichier;
     private Long tailleFichier;
     private String cheminFichier;
+    // Empreinte du contenu, clé dans l'AttachmentStore (partagée par les fichiers identiques)
+    @Column(length = 64)
+    private String sha256;
     private LocalDateTime dateAjout;
 }
-
@@ -10,7 +10,15 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "reclamations")
+@Table(name = "reclamations", indexes = {
+        @Index(name = "idx_reclamations_date_id", columnList = "date_creation, id"),
+        @Index(name = "idx_reclamations_echeance_id", columnList = "date_echeance, id"),
+        @Index(name = "idx_reclamations_statut_date", columnList = "statut, date_creation, id"),
+        @Index(name = "idx_reclamations_priorite_date", columnList = "priorite, date_creation, id"),
+        @Index(name = "idx_reclamations_type_date", columnList = "type_reclamation, date_creation, id"),
+        @Index(name = "idx_reclamations_technicien_date", columnList = "technicien_assigne_id, date_creation, id"),
+        @Index(name = "idx_reclamations_service_date", columnList = "service_direction_id, date_creation, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,6 +30,7 @@ public class Reclamation {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(unique = true)
     private String numero;
     private String objet;
     private String description;
@@ -51,13 +60,13 @@ public class Reclamation {
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<PieceJointe> pieceJointes;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User technicienAssigne;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private ServiceDirection serviceDirection;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Asset asset;
 
     // Enumérations
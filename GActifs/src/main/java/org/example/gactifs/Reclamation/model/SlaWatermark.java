@@ -0,0 +1,19 @@
+package org.example.gactifs.Reclamation.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+
+// Instant (ms epoch) jusqu'auquel les dépassements d'échéance ont été publiés, relu au démarrage
+@Entity
+@Table(name = "sla_watermarks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlaWatermark {
+    @Id
+    @Column(length = 50)
+    private String name;
+    private long firedAt;
+}
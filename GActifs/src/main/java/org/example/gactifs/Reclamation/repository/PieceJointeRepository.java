@@ -0,0 +1,20 @@
+package org.example.gactifs.Reclamation.repository;
+
+import org.example.gactifs.Reclamation.model.PieceJointe;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PieceJointeRepository extends JpaRepository<PieceJointe, Long> {
+
+    @Query("SELECT p FROM Reclamation r JOIN r.pieceJointes p WHERE r.id = :reclamationId ORDER BY p.dateAjout, p.id")
+    List<PieceJointe> findByReclamation(@Param("reclamationId") Long reclamationId);
+
+    @Query("SELECT p FROM Reclamation r JOIN r.pieceJointes p WHERE r.id = :reclamationId AND p.id = :id")
+    Optional<PieceJointe> findByReclamationAndId(@Param("reclamationId") Long reclamationId, @Param("id") Long id);
+}
@@ -0,0 +1,115 @@
+package org.example.gactifs.Reclamation.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Reclamation.dto.ReclamationDto;
+import org.example.gactifs.Reclamation.dto.ReclamationFilter;
+import org.example.gactifs.asset.dto.KeysetPage;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Lecture des réclamations en une seule requête : projection ReclamationDto avec jointures
+ * externes sur le technicien, le service et l'actif, pagination par clé (dateCreation, id)
+ * décroissante. Les filtres proposés sont couverts par les index de la table reclamations.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReclamationQueryRepository {
+
+    private static final String SELECT =
+            "SELECT new org.example.gactifs.Reclamation.dto.ReclamationDto(r.id, r.numero, r.objet, r.description, " +
+            "r.typeReclamation, r.priorite, r.statut, r.dateCreation, r.dateEcheance, r.dateResolution, " +
+            "r.reclamantNom, r.reclamantEmail, r.reclamantTelephone, r.resolution, r.satisfactionClient, r.cout, " +
+            "r.tempsResolution, t.id, t.firstName, t.lastName, s.id, s.nom, a.id, a.reference, a.nom) " +
+            "FROM Reclamation r LEFT JOIN r.technicienAssigne t LEFT JOIN r.serviceDirection s LEFT JOIN r.asset a";
+
+    private final EntityManager entityManager;
+
+    public Optional<ReclamationDto> findById(Long id) {
+        return entityManager.createQuery(SELECT + " WHERE r.id = :id", ReclamationDto.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    // Conserve l'ordre des ids demandés
+    public List<ReclamationDto> findByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ReclamationDto> byId = new HashMap<>();
+        entityManager.createQuery(SELECT + " WHERE r.id IN :ids", ReclamationDto.class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .forEach(dto -> byId.put(dto.getId(), dto));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    public KeysetPage<ReclamationDto> find(ReclamationFilter filter, String cursor, int size) {
+        StringBuilder jpql = new StringBuilder(SELECT).append(" WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+
+        if (filter.getStatut() != null) {
+            jpql.append(" AND r.statut = :statut");
+            params.put("statut", filter.getStatut());
+        }
+        if (filter.getPriorite() != null) {
+            jpql.append(" AND r.priorite = :priorite");
+            params.put("priorite", filter.getPriorite());
+        }
+        if (filter.getType() != null) {
+            jpql.append(" AND r.typeReclamation = :type");
+            params.put("type", filter.getType());
+        }
+        if (filter.getTechnicienId() != null) {
+            jpql.append(" AND t.id = :technicienId");
+            params.put("technicienId", filter.getTechnicienId());
+        }
+        if (filter.getServiceId() != null) {
+            jpql.append(" AND s.id = :serviceId");
+            params.put("serviceId", filter.getServiceId());
+        }
+        if (filter.getFrom() != null) {
+            jpql.append(" AND r.dateCreation >= :from");
+            params.put("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            jpql.append(" AND r.dateCreation < :to");
+            params.put("to", filter.getTo());
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor c = decode(cursor);
+            jpql.append(" AND (r.dateCreation < :cursorDate OR (r.dateCreation = :cursorDate AND r.id < :cursorId))");
+            params.put("cursorDate", c.dateCreation());
+            params.put("cursorId", c.id());
+        }
+        jpql.append(" ORDER BY r.dateCreation DESC, r.id DESC");
+
+        TypedQuery<ReclamationDto> query = entityManager.createQuery(jpql.toString(), ReclamationDto.class);
+        params.forEach(query::setParameter);
+        query.setMaxResults(size + 1);
+        return KeysetPage.of(query.getResultList(), size, last -> encode(last.getDateCreation(), last.getId()));
+    }
+
+    private record Cursor(LocalDateTime dateCreation, Long id) {}
+
+    private static String encode(LocalDateTime dateCreation, Long id) {
+        String raw = dateCreation + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Curseur invalide");
+        }
+    }
+}
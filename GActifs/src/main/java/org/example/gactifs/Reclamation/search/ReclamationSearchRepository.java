@@ -0,0 +1,112 @@
+package org.example.gactifs.Reclamation.search;
+
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Reclamation.dto.ReclamationSearchHit;
+import org.example.gactifs.Reclamation.model.Reclamation;
+import org.example.gactifs.asset.dto.KeysetPage;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.util.HtmlUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Recherche plein texte sur search_vector (index GIN). La requête utilisateur est interprétée
+ * par websearch_to_tsquery (guillemets, OR, -exclusion). Tri par pertinence puis id décroissants,
+ * paginé par clé (rang, id) ; ts_headline n'est calculé que pour les lignes de la page.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReclamationSearchRepository {
+
+    // Délimiteurs posés par ts_headline, remplacés par <mark> après échappement HTML du texte
+    private static final String START = "⟪";
+    private static final String STOP = "⟫";
+    private static final String HEADLINE_OPTIONS = "StartSel=" + START + ", StopSel=" + STOP;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public KeysetPage<ReclamationSearchHit> search(String text, Reclamation.StatutReclamation statut,
+                                                   Reclamation.PrioriteReclamation priorite, String cursor, int size) {
+        String config = "'" + ReclamationSearchSchema.CONFIG + "'::regconfig";
+        StringBuilder matches = new StringBuilder(
+                "SELECT r.id, r.numero, r.objet, r.description, r.resolution, r.type_reclamation, r.priorite, " +
+                "r.statut, r.date_creation, ts_rank_cd(r.search_vector, q.query) AS rank, q.query " +
+                "FROM reclamations r, websearch_to_tsquery(" + config + ", ?) AS q(query) " +
+                "WHERE r.search_vector @@ q.query");
+        List<Object> args = new ArrayList<>();
+        args.add(text);
+        if (statut != null) {
+            matches.append(" AND r.statut = ?");
+            args.add(statut.name());
+        }
+        if (priorite != null) {
+            matches.append(" AND r.priorite = ?");
+            args.add(priorite.name());
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT m.*, " +
+                "ts_headline(" + config + ", coalesce(m.objet, ''), m.query, '" + HEADLINE_OPTIONS + ", HighlightAll=true') AS objet_surligne, " +
+                "ts_headline(" + config + ", coalesce(m.description, '') || ' ' || coalesce(m.resolution, ''), m.query, '" +
+                HEADLINE_OPTIONS + ", MaxFragments=2, MaxWords=20, MinWords=5') AS extrait " +
+                "FROM (").append(matches).append(") m");
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor c = decode(cursor);
+            sql.append(" WHERE (m.rank < CAST(? AS real) OR (m.rank = CAST(? AS real) AND m.id < ?))");
+            args.add(c.rank());
+            args.add(c.rank());
+            args.add(c.id());
+        }
+        sql.append(" ORDER BY m.rank DESC, m.id DESC LIMIT ?");
+        args.add(size + 1);
+
+        List<ReclamationSearchHit> rows = jdbcTemplate.query(sql.toString(), (rs, i) -> {
+            Timestamp created = rs.getTimestamp("date_creation");
+            return ReclamationSearchHit.builder()
+                    .id(rs.getLong("id"))
+                    .numero(rs.getString("numero"))
+                    .objet(rs.getString("objet"))
+                    .typeReclamation(enumOf(Reclamation.TypeReclamation.class, rs.getString("type_reclamation")))
+                    .priorite(enumOf(Reclamation.PrioriteReclamation.class, rs.getString("priorite")))
+                    .statut(enumOf(Reclamation.StatutReclamation.class, rs.getString("statut")))
+                    .dateCreation(created != null ? created.toLocalDateTime() : null)
+                    .rank(rs.getFloat("rank"))
+                    .objetSurligne(highlight(rs.getString("objet_surligne")))
+                    .extrait(highlight(rs.getString("extrait")))
+                    .build();
+        }, args.toArray());
+        return KeysetPage.of(rows, size, last -> encode(last.getRank(), last.getId()));
+    }
+
+    private static String highlight(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline, "UTF-8").replace(START, "<mark>").replace(STOP, "</mark>");
+    }
+
+    private static <E extends Enum<E>> E enumOf(Class<E> type, String value) {
+        return value == null ? null : Enum.valueOf(type, value);
+    }
+
+    private record Cursor(float rank, long id) {}
+
+    private static String encode(float rank, Long id) {
+        String raw = Float.toString(rank) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new Cursor(Float.parseFloat(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Curseur invalide");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.gactifs.Reclamation.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Objets PostgreSQL de la recherche plein texte, que Hibernate ne sait pas créer :
+ * configuration fr_unaccent (racinisation française, accents ignorés), colonne générée
+ * search_vector (objet > description > résolution) et son index GIN. Tout est idempotent.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReclamationSearchSchema implements CommandLineRunner {
+
+    public static final String CONFIG = "fr_unaccent";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        boolean unaccent = createUnaccent();
+        jdbcTemplate.execute(
+                "DO $$ BEGIN " +
+                "IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = '" + CONFIG + "') THEN " +
+                "CREATE TEXT SEARCH CONFIGURATION " + CONFIG + " (COPY = french); " +
+                (unaccent
+                        ? "ALTER TEXT SEARCH CONFIGURATION " + CONFIG +
+                          " ALTER MAPPING FOR hword, hword_part, word WITH unaccent, french_stem; "
+                        : "") +
+                "END IF; END $$");
+        jdbcTemplate.execute(
+                "ALTER TABLE reclamations ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (" +
+                "setweight(to_tsvector('" + CONFIG + "'::regconfig, coalesce(objet, '')), 'A') || " +
+                "setweight(to_tsvector('" + CONFIG + "'::regconfig, coalesce(description, '')), 'B') || " +
+                "setweight(to_tsvector('" + CONFIG + "'::regconfig, coalesce(resolution, '')), 'C')) STORED");
+        jdbcTemplate.execute(
+                "CREATE INDEX IF NOT EXISTS idx_reclamations_search ON reclamations USING GIN (search_vector)");
+    }
+
+    // L'extension peut exiger des droits que le compte applicatif n'a pas : on continue alors sans suppression des accents
+    private boolean createUnaccent() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS unaccent");
+            return true;
+        } catch (DataAccessException e) {
+            Integer installed = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_extension WHERE extname = 'unaccent'", Integer.class);
+            return installed != null && installed > 0;
+        }
+    }
+}
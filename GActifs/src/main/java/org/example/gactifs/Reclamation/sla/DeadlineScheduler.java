@@ -0,0 +1,275 @@
+package org.example.gactifs.Reclamation.sla;
+
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Reclamation.model.Reclamation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Échéances des réclamations ouvertes, triées en mémoire par (échéance, id).
+ * Les réclamations en retard sont la tête de l'ensemble : /overdue et le déclenchement
+ * des escalades ne parcourent que les éléments concernés, jamais la table.
+ * <p>
+ * La mémoire est bornée séparément pour les deux parts de l'ensemble :
+ * <ul>
+ *   <li>échéances à venir : au plus max-items ; au-delà, les plus lointaines sont écartées et l'horizon
+ *   mémorise la dernière clé encore complète. Tout ce qui est avant l'horizon est en mémoire ; le reste est
+ *   rechargé depuis la base quand la place se libère, au plus tard quand l'horizon est atteint ;</li>
+ *   <li>retards déjà publiés : au plus max-overdue ; les plus anciens sont écartés et le plancher mémorise
+ *   la dernière clé écartée. /overdue lit ce qui précède le plancher dans l'index (date_echeance, id).</li>
+ * </ul>
+ * Le filigrane des publications est enregistré à chaque tick : au redémarrage, les échéances passées
+ * pendant l'arrêt sont publiées au premier tick, les retards déjà publiés ne le sont pas une seconde fois.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeadlineScheduler {
+
+    public static final Set<Reclamation.StatutReclamation> OPEN = EnumSet.of(
+            Reclamation.StatutReclamation.NOUVELLE, Reclamation.StatutReclamation.EN_ATTENTE,
+            Reclamation.StatutReclamation.EN_COURS, Reclamation.StatutReclamation.EN_ATTENTE_CLIENT);
+
+    private static final String OPEN_SQL =
+            "SELECT id, date_echeance FROM reclamations " +
+            "WHERE date_echeance IS NOT NULL AND statut IN ('NOUVELLE', 'EN_ATTENTE', 'EN_COURS', 'EN_ATTENTE_CLIENT') ";
+    private static final String AFTER_SQL = "AND (date_echeance, id) > (?, ?) ";
+    private static final String UP_TO_SQL = "AND (date_echeance, id) <= (?, ?) ";
+    private static final String ORDER_SQL = "ORDER BY date_echeance, id LIMIT ?";
+
+    private static final String WATERMARK = "reclamations";
+    private static final String WATERMARK_SELECT_SQL = "SELECT fired_at FROM sla_watermarks WHERE name = ?";
+    private static final String WATERMARK_SAVE_SQL =
+            "INSERT INTO sla_watermarks (name, fired_at) VALUES (?, ?) " +
+            "ON CONFLICT (name) DO UPDATE SET fired_at = GREATEST(sla_watermarks.fired_at, EXCLUDED.fired_at)";
+
+    private static final Deadline MIN = new Deadline(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    private static final RowMapper<Deadline> MAPPER =
+            (rs, i) -> new Deadline(rs.getTimestamp("date_echeance").getTime(), rs.getLong("id"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher events;
+
+    @Value("${application.reclamations.sla.max-items:250000}")
+    private int maxItems;
+
+    @Value("${application.reclamations.sla.max-overdue:250000}")
+    private int maxOverdue;
+
+    private final ConcurrentSkipListSet<Deadline> queue = new ConcurrentSkipListSet<>();
+    private final Map<Long, Deadline> byId = new ConcurrentHashMap<>();
+
+    // null : toutes les échéances ouvertes après le plancher sont en mémoire
+    private volatile Deadline horizon = MIN;
+    // Retards jusqu'à cette clé incluse : en base seulement ; MIN : aucun
+    private volatile Deadline floor = MIN;
+    // Dernière clé pour laquelle l'escalade a été publiée ; MIN : rien n'est encore chargé
+    private volatile Deadline fired = MIN;
+
+    // Tenus sous le verrou de l'instance : taille de l'ensemble et nombre d'échéances après fired
+    private volatile int size;
+    private int pending;
+
+    public record Deadline(long due, long id) implements Comparable<Deadline> {
+        @Override
+        public int compareTo(Deadline o) {
+            int c = Long.compare(due, o.due);
+            return c != 0 ? c : Long.compare(id, o.id);
+        }
+
+        public LocalDateTime dateEcheance() {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(due), ZoneId.systemDefault());
+        }
+    }
+
+    // Reprise au filigrane enregistré : les retards antérieurs restent en base, les suivants sont publiés au tick
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        queue.clear();
+        byId.clear();
+        size = 0;
+        pending = 0;
+        List<Long> saved = jdbcTemplate.queryForList(WATERMARK_SELECT_SQL, Long.class, WATERMARK);
+        Deadline start = saved.isEmpty() ? now() : new Deadline(saved.get(0), Long.MAX_VALUE);
+        fired = start;
+        floor = start;
+        horizon = start;
+        refill();
+    }
+
+    /**
+     * Suit la réclamation enregistrée. previousEcheance et previouslyOpen décrivent son état avant l'écriture :
+     * un retard n'est republié que s'il est nouveau (réouverture, création) ou si l'échéance a changé.
+     */
+    public synchronized void track(Reclamation r, LocalDateTime previousEcheance, boolean previouslyOpen) {
+        untrack(r.getId());
+        if (r.getDateEcheance() == null || r.getStatut() == null || !OPEN.contains(r.getStatut())) {
+            return;
+        }
+        Deadline d = new Deadline(toMillis(r.getDateEcheance()), r.getId());
+        Deadline h = horizon;
+        if (h != null && d.compareTo(h) > 0) {
+            return; // au-delà de l'horizon : sera chargée par refill
+        }
+        if (d.compareTo(fired) <= 0 && !(previouslyOpen && r.getDateEcheance().equals(previousEcheance))) {
+            events.publishEvent(new ReclamationOverdueEvent(d.id(), d.dateEcheance()));
+        }
+        if (d.compareTo(floor) > 0) {
+            add(d);
+            trim();
+            trimOverdue();
+        }
+    }
+
+    public synchronized void untrack(Long id) {
+        Deadline previous = id != null ? byId.get(id) : null;
+        if (previous != null) {
+            remove(previous);
+        }
+    }
+
+    // Page de réclamations en retard, de la plus ancienne échéance à la plus récente
+    public List<Deadline> overdue(Deadline after, int limit) {
+        while (true) {
+            Deadline f = floor;
+            List<Deadline> page = new ArrayList<>(Math.min(limit, 1024));
+            Deadline from = after;
+            if (f != MIN && (from == null || from.compareTo(f) < 0)) {
+                page.addAll(overdueInDatabase(from, f, limit));
+                if (page.size() == limit) {
+                    return page;
+                }
+                from = f;
+            }
+            Deadline now = now();
+            NavigableSet<Deadline> range = from == null ? queue.headSet(now, true) : queue.subSet(from, false, now, true);
+            for (Deadline d : range) {
+                if (page.size() == limit) {
+                    break;
+                }
+                page.add(d);
+            }
+            // Des retards ont quitté la mémoire pendant la lecture : la page est relue
+            if (floor == f) {
+                return page;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Ne parcourt que les échéances passées depuis le tick précédent ; l'horizon atteint, la suite est rechargée
+    @Scheduled(fixedDelayString = "${application.reclamations.sla.tick:10000}")
+    public synchronized void tick() {
+        if (fired == MIN) {
+            return;
+        }
+        Deadline now = now();
+        while (true) {
+            Deadline h = horizon;
+            Deadline upTo = h != null && h.compareTo(now) < 0 ? h : now;
+            for (Deadline d : queue.subSet(fired, false, upTo, true)) {
+                events.publishEvent(new ReclamationOverdueEvent(d.id(), d.dateEcheance()));
+                pending--;
+            }
+            fired = upTo;
+            trimOverdue();
+            if (h != null && pending < Math.max(1, maxItems / 2)) {
+                refill();
+            }
+            if (upTo == now) {
+                break;
+            }
+        }
+        jdbcTemplate.update(WATERMARK_SAVE_SQL, WATERMARK, now.due());
+    }
+
+    // Charge depuis la base les échéances situées après l'horizon, dans l'ordre, jusqu'à max-items à venir
+    private void refill() {
+        Deadline from = horizon;
+        if (from == null) {
+            return;
+        }
+        int limit = maxItems - pending;
+        if (limit <= 0) {
+            return;
+        }
+        List<Deadline> rows = from == MIN
+                ? jdbcTemplate.query(OPEN_SQL + ORDER_SQL, MAPPER, limit)
+                : jdbcTemplate.query(OPEN_SQL + AFTER_SQL + ORDER_SQL, MAPPER,
+                        new Timestamp(from.due()), from.id(), limit);
+        for (Deadline d : rows) {
+            if (!byId.containsKey(d.id())) {
+                add(d);
+            }
+        }
+        horizon = rows.size() < limit ? null : rows.get(rows.size() - 1);
+    }
+
+    private List<Deadline> overdueInDatabase(Deadline after, Deadline upTo, int limit) {
+        Timestamp upToDue = new Timestamp(upTo.due());
+        return after == null
+                ? jdbcTemplate.query(OPEN_SQL + UP_TO_SQL + ORDER_SQL, MAPPER, upToDue, upTo.id(), limit)
+                : jdbcTemplate.query(OPEN_SQL + AFTER_SQL + UP_TO_SQL + ORDER_SQL, MAPPER,
+                        new Timestamp(after.due()), after.id(), upToDue, upTo.id(), limit);
+    }
+
+    // Écarte les échéances à venir les plus lointaines et rapproche l'horizon en conséquence
+    private void trim() {
+        while (pending > maxItems) {
+            remove(queue.last());
+            horizon = queue.isEmpty() ? fired : queue.last();
+        }
+    }
+
+    // Écarte les retards les plus anciens, déjà publiés, et avance le plancher en conséquence
+    private void trimOverdue() {
+        while (size - pending > maxOverdue) {
+            Deadline first = queue.first();
+            remove(first);
+            floor = first;
+        }
+    }
+
+    private void add(Deadline d) {
+        if (queue.add(d)) {
+            byId.put(d.id(), d);
+            size++;
+            if (d.compareTo(fired) > 0) {
+                pending++;
+            }
+        }
+    }
+
+    private void remove(Deadline d) {
+        if (queue.remove(d)) {
+            byId.remove(d.id());
+            size--;
+            if (d.compareTo(fired) > 0) {
+                pending--;
+            }
+        }
+    }
+
+    private static Deadline now() {
+        return new Deadline(System.currentTimeMillis(), Long.MAX_VALUE);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.gactifs.Reclamation.sla;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Compte les dépassements d'échéance publiés par le DeadlineScheduler (exposé sur /actuator/metrics)
+@Component
+public class OverdueMetricsListener {
+
+    private final Counter overdue;
+
+    public OverdueMetricsListener(MeterRegistry registry, DeadlineScheduler scheduler) {
+        this.overdue = Counter.builder("reclamations.sla.overdue")
+                .description("Réclamations ayant dépassé leur échéance")
+                .register(registry);
+        registry.gauge("reclamations.sla.tracked", scheduler, DeadlineScheduler::size);
+    }
+
+    @EventListener
+    public void onOverdue(ReclamationOverdueEvent event) {
+        overdue.increment();
+    }
+}
@@ -0,0 +1,6 @@
+package org.example.gactifs.Reclamation.sla;
+
+import java.time.LocalDateTime;
+
+// Publié une fois quand l'échéance d'une réclamation ouverte est dépassée
+public record ReclamationOverdueEvent(Long reclamationId, LocalDateTime dateEcheance) {}
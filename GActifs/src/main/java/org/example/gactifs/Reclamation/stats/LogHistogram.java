@@ -0,0 +1,71 @@
+package org.example.gactifs.Reclamation.stats;
+
+/**
+ * Histogramme à seaux logarithmiques (8 sous-seaux par puissance de deux, erreur relative
+ * inférieure à 7 %). Les bornes sont fixes : deux histogrammes se fusionnent, ou se
+ * soustraient, seau par seau. Valeurs entières positives (ici des minutes).
+ */
+final class LogHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int MAX_EXP = 30;
+    private static final long MAX_VALUE = (1L << (MAX_EXP + 1)) - 1;
+    private static final int BUCKETS = (MAX_EXP - SUB_BITS + 2) * SUB;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+
+    void add(long value, long weight) {
+        counts[index(value)] += weight;
+        total += weight;
+    }
+
+    void merge(LogHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+    }
+
+    long total() {
+        return total;
+    }
+
+    // Valeur au rang p (0..1), estimée au milieu du seau correspondant
+    double percentile(double p) {
+        if (total <= 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long low = lowerBound(i);
+                long high = i + 1 < BUCKETS ? lowerBound(i + 1) : MAX_VALUE + 1;
+                return low + (high - low - 1) / 2.0;
+            }
+        }
+        return MAX_VALUE;
+    }
+
+    static int index(long value) {
+        long v = Math.min(Math.max(value, 0), MAX_VALUE);
+        if (v < SUB) {
+            return (int) v;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB - 1);
+        return (exp - SUB_BITS + 1) * SUB + sub;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB) {
+            return index;
+        }
+        int group = index / SUB;
+        int sub = index % SUB;
+        return (long) (SUB + sub) << (group - 1);
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.gactifs.Reclamation.stats;
+
+import org.example.gactifs.Reclamation.model.Reclamation;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Contribution d'une réclamation résolue aux statistiques ; null si elle n'est pas (ou plus) résolue
+public record ResolutionSample(Reclamation.TypeReclamation type,
+                               Reclamation.PrioriteReclamation priorite,
+                               Long serviceId,
+                               LocalDate jour,
+                               long minutes,
+                               Integer satisfaction,
+                               Double cout) {
+
+    public static final Set<Reclamation.StatutReclamation> RESOLVED =
+            EnumSet.of(Reclamation.StatutReclamation.RESOLUE, Reclamation.StatutReclamation.FERMEE);
+
+    public static ResolutionSample of(Reclamation r) {
+        if (r == null || !RESOLVED.contains(r.getStatut())) {
+            return null;
+        }
+        return of(r.getTypeReclamation(), r.getPriorite(),
+                r.getServiceDirection() != null ? r.getServiceDirection().getId() : null,
+                r.getDateCreation(), r.getDateResolution(), r.getSatisfactionClient(), r.getCout());
+    }
+
+    static ResolutionSample of(Reclamation.TypeReclamation type, Reclamation.PrioriteReclamation priorite, Long serviceId,
+                               LocalDateTime dateCreation, LocalDateTime dateResolution,
+                               Integer satisfaction, Double cout) {
+        if (dateCreation == null || dateResolution == null) {
+            return null;
+        }
+        long minutes = Math.max(0, Duration.between(dateCreation, dateResolution).toMinutes());
+        return new ResolutionSample(type, priorite, serviceId, dateResolution.toLocalDate(), minutes, satisfaction, cout);
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.gactifs.Reclamation.stats;
+
+/**
+ * Agrégat fusionnable pour un ensemble de réclamations résolues : histogramme des durées
+ * de résolution (minutes), sommes de satisfaction et de coût. Un poids négatif retire
+ * un échantillon, ce qui permet de corriger l'agrégat quand une réclamation est rouverte ou modifiée.
+ */
+final class ResolutionStats {
+
+    private final LogHistogram durations = new LogHistogram();
+    private long count;
+    private long totalMinutes;
+    private long satisfactionSum;
+    private long satisfactionCount;
+    private double coutSum;
+
+    synchronized void add(ResolutionSample s, int weight) {
+        durations.add(s.minutes(), weight);
+        count += weight;
+        totalMinutes += weight * s.minutes();
+        if (s.satisfaction() != null) {
+            satisfactionSum += (long) weight * s.satisfaction();
+            satisfactionCount += weight;
+        }
+        if (s.cout() != null) {
+            coutSum += weight * s.cout();
+        }
+    }
+
+    synchronized void mergeInto(ResolutionStats target) {
+        synchronized (target) {
+            target.durations.merge(durations);
+            target.count += count;
+            target.totalMinutes += totalMinutes;
+            target.satisfactionSum += satisfactionSum;
+            target.satisfactionCount += satisfactionCount;
+            target.coutSum += coutSum;
+        }
+    }
+
+    synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    synchronized ResolutionStatsDto toDto() {
+        return ResolutionStatsDto.builder()
+                .count(count)
+                .tempsMoyenHeures(count == 0 ? 0 : totalMinutes / 60.0 / count)
+                .p50Heures(durations.percentile(0.50) / 60.0)
+                .p90Heures(durations.percentile(0.90) / 60.0)
+                .p95Heures(durations.percentile(0.95) / 60.0)
+                .satisfactionMoyenne(satisfactionCount == 0 ? null : (double) satisfactionSum / satisfactionCount)
+                .coutTotal(coutSum)
+                .coutMoyen(count == 0 ? 0 : coutSum / count)
+                .build();
+    }
+}
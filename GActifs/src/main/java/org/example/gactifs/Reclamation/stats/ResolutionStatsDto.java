@@ -0,0 +1,15 @@
+package org.example.gactifs.Reclamation.stats;
+
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ResolutionStatsDto {
+    private long count;
+    private double tempsMoyenHeures;
+    private double p50Heures;
+    private double p90Heures;
+    private double p95Heures;
+    private Double satisfactionMoyenne;
+    private double coutTotal;
+    private double coutMoyen;
+}
@@ -0,0 +1,182 @@
+package org.example.gactifs.Reclamation.stats;
+
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.Reclamation.model.Reclamation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Statistiques de résolution des réclamations, tenues à jour à chaque passage à RESOLUE ou FERMEE.
+ * Deux niveaux d'agrégats fusionnables :
+ * <ul>
+ *   <li>une cellule par (type, priorité, service, jour de résolution), pour les requêtes sur une période ;</li>
+ *   <li>des cumuls par (type, priorité), type seul, priorité seule et global, lus en temps constant.</li>
+ * </ul>
+ * Les cellules journalières ne sont conservées que sur retention-days : au-delà, seuls les cumuls comptent
+ * encore les réclamations, et les jours sortis de la fenêtre sont purgés chaque nuit.
+ * Les agrégats sont reconstruits depuis la table au démarrage ou à la demande.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResolutionStatsService {
+
+    private static final String REBUILD_SQL =
+            "SELECT type_reclamation, priorite, service_direction_id, date_creation, date_resolution, " +
+            "satisfaction_client, cout FROM reclamations " +
+            "WHERE statut IN ('RESOLUE', 'FERMEE') AND date_resolution IS NOT NULL AND date_creation IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${application.reclamations.stats.retention-days:730}")
+    private int retentionDays;
+
+    record CellKey(Reclamation.TypeReclamation type, Reclamation.PrioriteReclamation priorite, Long serviceId) {}
+
+    // anyType / anyPriorite : cumul toutes valeurs confondues ; type ou priorité à null sinon : valeur inconnue
+    record RollupKey(Reclamation.TypeReclamation type, Reclamation.PrioriteReclamation priorite,
+                     boolean anyType, boolean anyPriorite) {
+
+        static RollupKey of(Reclamation.TypeReclamation type, Reclamation.PrioriteReclamation priorite) {
+            return new RollupKey(type, priorite, false, false);
+        }
+
+        static RollupKey anyType(Reclamation.PrioriteReclamation priorite) {
+            return new RollupKey(null, priorite, true, false);
+        }
+
+        static RollupKey anyPriorite(Reclamation.TypeReclamation type) {
+            return new RollupKey(type, null, false, true);
+        }
+
+        static final RollupKey ALL = new RollupKey(null, null, true, true);
+    }
+
+    private static final class State {
+        final NavigableMap<LocalDate, Map<CellKey, ResolutionStats>> days = new ConcurrentSkipListMap<>();
+        final Map<RollupKey, ResolutionStats> rollups = new ConcurrentHashMap<>();
+        // Premier jour dont les cellules sont tenues ; les jours antérieurs ne vont plus qu'aux cumuls
+        volatile LocalDate retainedFrom;
+
+        State(LocalDate retainedFrom) {
+            this.retainedFrom = retainedFrom;
+        }
+
+        void add(ResolutionSample s, int weight) {
+            if (!s.jour().isBefore(retainedFrom)) {
+                days.computeIfAbsent(s.jour(), d -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(new CellKey(s.type(), s.priorite(), s.serviceId()), k -> new ResolutionStats())
+                        .add(s, weight);
+            }
+            rollup(RollupKey.of(s.type(), s.priorite())).add(s, weight);
+            rollup(RollupKey.anyPriorite(s.type())).add(s, weight);
+            rollup(RollupKey.anyType(s.priorite())).add(s, weight);
+            rollup(RollupKey.ALL).add(s, weight);
+        }
+
+        ResolutionStats rollup(RollupKey key) {
+            return rollups.computeIfAbsent(key, k -> new ResolutionStats());
+        }
+
+        void evictBefore(LocalDate day) {
+            retainedFrom = day;
+            days.headMap(day).clear();
+        }
+    }
+
+    private volatile State state = new State(LocalDate.MIN);
+
+    // Remplace la contribution précédente d'une réclamation par la nouvelle (chacune pouvant être null)
+    public synchronized void replace(ResolutionSample before, ResolutionSample after) {
+        if (before != null && before.equals(after)) {
+            return;
+        }
+        if (before != null) {
+            state.add(before, -1);
+        }
+        if (after != null) {
+            state.add(after, 1);
+        }
+    }
+
+    // Lecture en temps constant : un seul cumul, quel que soit le volume ; un paramètre absent vaut toutes valeurs
+    public ResolutionStatsDto get(Reclamation.TypeReclamation type, Reclamation.PrioriteReclamation priorite) {
+        ResolutionStats stats = state.rollups.get(new RollupKey(type, priorite, type == null, priorite == null));
+        return stats != null ? stats.toDto() : new ResolutionStats().toDto();
+    }
+
+    // Fusion des cellules journalières de la période [from, to], qui doit rester dans la fenêtre conservée
+    public ResolutionStatsDto getForPeriod(LocalDate from, LocalDate to, Reclamation.TypeReclamation type,
+                                           Reclamation.PrioriteReclamation priorite, Long serviceId) {
+        LocalDate retainedFrom = state.retainedFrom;
+        if (from.isBefore(retainedFrom)) {
+            throw new StatsPeriodOutOfRangeException(retainedFrom);
+        }
+        ResolutionStats merged = new ResolutionStats();
+        for (Map<CellKey, ResolutionStats> cells : state.days.subMap(from, true, to, true).values()) {
+            cells.forEach((key, stats) -> {
+                if ((type == null || type == key.type())
+                        && (priorite == null || priorite == key.priorite())
+                        && (serviceId == null || serviceId.equals(key.serviceId()))) {
+                    stats.mergeInto(merged);
+                }
+            });
+        }
+        return merged.toDto();
+    }
+
+    // Lecture en flux (curseur serveur, d'où la transaction) puis remplacement atomique des agrégats
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        State rebuilt = new State(retainedFrom());
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(REBUILD_SQL);
+            ps.setFetchSize(1000);
+            return ps;
+        }, rs -> {
+            ResolutionSample sample = ResolutionSample.of(
+                    enumOf(Reclamation.TypeReclamation.class, rs.getString("type_reclamation")),
+                    enumOf(Reclamation.PrioriteReclamation.class, rs.getString("priorite")),
+                    rs.getObject("service_direction_id", Long.class),
+                    toLocalDateTime(rs.getTimestamp("date_creation")),
+                    toLocalDateTime(rs.getTimestamp("date_resolution")),
+                    rs.getObject("satisfaction_client", Integer.class),
+                    rs.getObject("cout", Double.class));
+            if (sample != null) {
+                rebuilt.add(sample, 1);
+            }
+        });
+        state = rebuilt;
+    }
+
+    // Purge des cellules des jours sortis de la fenêtre ; les cumuls ne sont pas touchés
+    @Scheduled(cron = "${application.reclamations.stats.evict-cron:0 5 0 * * *}")
+    public synchronized void evictExpiredDays() {
+        state.evictBefore(retainedFrom());
+    }
+
+    private LocalDate retainedFrom() {
+        return LocalDate.now().minusDays(retentionDays);
+    }
+
+    private static <E extends Enum<E>> E enumOf(Class<E> type, String value) {
+        return value == null ? null : Enum.valueOf(type, value);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp ts) {
+        return ts == null ? null : ts.toLocalDateTime();
+    }
+}
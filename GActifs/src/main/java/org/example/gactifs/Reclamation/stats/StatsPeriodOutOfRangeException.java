@@ -0,0 +1,18 @@
+package org.example.gactifs.Reclamation.stats;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+import java.time.LocalDate;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class StatsPeriodOutOfRangeException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public StatsPeriodOutOfRangeException(LocalDate retainedFrom) {
+        super("Statistiques journalières disponibles à partir du " + retainedFrom);
+    }
+}
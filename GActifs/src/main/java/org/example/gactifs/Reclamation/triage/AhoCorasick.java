@@ -0,0 +1,180 @@
+package org.example.gactifs.Reclamation.triage;
+
+import org.example.gactifs.common.TextNormalizer;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Automate d'Aho-Corasick compilé en table de transitions complète (DFA) : le texte est lu
+ * une seule fois, un accès tableau par caractère, quel que soit le nombre de motifs.
+ * <p>
+ * Textes et motifs sont lus via une table de caractères précalculée (minuscules, sans accents),
+ * sans normalisation préalable du texte ; tout caractère autre qu'une lettre ou un chiffre est un séparateur, et les séparateurs consécutifs comptent pour un.
+ * Les motifs sont encadrés de séparateurs : seuls des mots ou expressions entiers correspondent.
+ * L'automate est immuable une fois construit et peut être partagé entre threads.
+ */
+public final class AhoCorasick<T> {
+
+    private static final int ALPHABET = 37;
+    private static final int SEPARATOR = 0;
+
+    private final int[] delta;
+    // Premier motif se terminant dans l'état, puis motif suivant (listes chaînées), -1 sinon
+    private final int[] firstPattern;
+    private final int[] nextPattern;
+    // État suivant de la chaîne des suffixes qui termine au moins un motif
+    private final int[] outputLink;
+    private final List<T> payloads;
+    private final String[] patterns;
+
+    private AhoCorasick(int[] delta, int[] firstPattern, int[] nextPattern, int[] outputLink,
+                        List<T> payloads, String[] patterns) {
+        this.delta = delta;
+        this.firstPattern = firstPattern;
+        this.nextPattern = nextPattern;
+        this.outputLink = outputLink;
+        this.payloads = payloads;
+        this.patterns = patterns;
+    }
+
+    public int stateCount() {
+        return firstPattern.length;
+    }
+
+    public int patternCount() {
+        return patterns.length;
+    }
+
+    // Appelle consumer(motif normalisé, donnée associée) pour chaque occurrence, chevauchements compris
+    public void match(String text, BiConsumer<String, T> consumer) {
+        if (text == null) {
+            return;
+        }
+        int state = delta[SEPARATOR];
+        boolean lastWasSeparator = true;
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            int code = i < n ? code(text.charAt(i)) : SEPARATOR;
+            if (code == SEPARATOR && lastWasSeparator) {
+                continue;
+            }
+            lastWasSeparator = code == SEPARATOR;
+            state = delta[state * ALPHABET + code];
+            for (int s = firstPattern[state] >= 0 ? state : outputLink[state]; s >= 0; s = outputLink[s]) {
+                for (int p = firstPattern[s]; p >= 0; p = nextPattern[p]) {
+                    consumer.accept(patterns[p], payloads.get(p));
+                }
+            }
+        }
+    }
+
+    public static <T> AhoCorasick<T> compile(List<Map.Entry<String, T>> entries) {
+        int capacity = 1024;
+        int[] delta = new int[capacity * ALPHABET];
+        Arrays.fill(delta, -1);
+        int[] first = new int[capacity];
+        Arrays.fill(first, -1);
+        int states = 1;
+
+        int[] next = new int[entries.size()];
+        String[] patterns = new String[entries.size()];
+        List<T> payloads = new ArrayList<>(entries.size());
+
+        for (int p = 0; p < entries.size(); p++) {
+            String pattern = entries.get(p).getKey() == null ? "" : entries.get(p).getKey();
+            patterns[p] = TextNormalizer.normalize(pattern);
+            payloads.add(entries.get(p).getValue());
+            next[p] = -1;
+            int state = 0;
+            boolean lastWasSeparator = false;
+            // Séparateur initial et final : correspondance sur des mots entiers
+            for (int i = -1; i <= pattern.length(); i++) {
+                int code = (i < 0 || i == pattern.length()) ? SEPARATOR : code(pattern.charAt(i));
+                if (code == SEPARATOR && lastWasSeparator) {
+                    continue;
+                }
+                lastWasSeparator = code == SEPARATOR;
+                int target = delta[state * ALPHABET + code];
+                if (target < 0) {
+                    if (states == capacity) {
+                        capacity *= 2;
+                        int oldLength = delta.length;
+                        delta = Arrays.copyOf(delta, capacity * ALPHABET);
+                        Arrays.fill(delta, oldLength, delta.length, -1);
+                        int oldStates = first.length;
+                        first = Arrays.copyOf(first, capacity);
+                        Arrays.fill(first, oldStates, capacity, -1);
+                    }
+                    target = states++;
+                    delta[state * ALPHABET + code] = target;
+                }
+                state = target;
+            }
+            // Motif sans lettre ni chiffre : il correspondrait à chaque séparateur
+            if (pattern.chars().allMatch(ch -> code((char) ch) == SEPARATOR)) {
+                continue;
+            }
+            next[p] = first[state];
+            first[state] = p;
+        }
+
+        delta = Arrays.copyOf(delta, states * ALPHABET);
+        first = Arrays.copyOf(first, states);
+        int[] fail = new int[states];
+        int[] outputLink = new int[states];
+        Arrays.fill(outputLink, -1);
+
+        // Parcours en largeur : chaque ligne manquante est complétée par celle de l'état d'échec
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            int u = delta[c];
+            if (u < 0) {
+                delta[c] = 0;
+            } else {
+                fail[u] = 0;
+                queue.add(u);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            int f = fail[s];
+            outputLink[s] = first[f] >= 0 ? f : outputLink[f];
+            for (int c = 0; c < ALPHABET; c++) {
+                int u = delta[s * ALPHABET + c];
+                if (u < 0) {
+                    delta[s * ALPHABET + c] = delta[f * ALPHABET + c];
+                } else {
+                    fail[u] = delta[f * ALPHABET + c];
+                    queue.add(u);
+                }
+            }
+        }
+        return new AhoCorasick<>(delta, first, next, outputLink, List.copyOf(payloads), patterns);
+    }
+
+    // Code de chaque caractère latin (ASCII, Latin-1, Latin étendu) : lettre sans accent, chiffre ou séparateur
+    private static final int[] CODES = new int[0x250];
+
+    static {
+        for (char c = 0; c < CODES.length; c++) {
+            char base = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD).charAt(0);
+            base = Character.toLowerCase(base);
+            if (base >= 'a' && base <= 'z') {
+                CODES[c] = base - 'a' + 1;
+            } else if (base >= '0' && base <= '9') {
+                CODES[c] = base - '0' + 27;
+            } else {
+                CODES[c] = SEPARATOR;
+            }
+        }
+    }
+
+    private static int code(char c) {
+        return c < CODES.length ? CODES[c] : SEPARATOR;
+    }
+}
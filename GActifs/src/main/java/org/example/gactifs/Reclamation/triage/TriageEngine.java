@@ -0,0 +1,147 @@
+package org.example.gactifs.Reclamation.triage;
+
+import org.example.gactifs.Reclamation.model.Reclamation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pré-tri des réclamations : objet et description sont passés dans un automate d'Aho-Corasick
+ * construit à partir du dictionnaire de mots-clés. Chaque mot trouvé vote (avec son poids)
+ * pour un type et un service ; la priorité retenue est la plus grave rencontrée.
+ * <p>
+ * Le dictionnaire est relu quand le fichier change : le nouvel automate est construit à part
+ * puis publié par un échange de référence, les requêtes en cours gardent l'ancien sans verrou.
+ * <p>
+ * Format d'une ligne : {@code mot ou expression | type=SECURITE | priorite=HAUTE | service=DSI | poids=2}
+ */
+@Component
+public class TriageEngine {
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+
+    private final AtomicReference<AhoCorasick<TriageRule>> automaton =
+            new AtomicReference<>(AhoCorasick.compile(List.of()));
+    private volatile long lastModified = -1;
+
+    public TriageEngine(ResourceLoader resourceLoader,
+                        @Value("${application.reclamations.triage.dictionary:classpath:triage/dictionnaire.txt}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+    }
+
+    public TriageSuggestion suggest(String objet, String description) {
+        AhoCorasick<TriageRule> current = automaton.get();
+        Map<Reclamation.TypeReclamation, Integer> typeVotes = new EnumMap<>(Reclamation.TypeReclamation.class);
+        Map<String, Integer> serviceVotes = new HashMap<>();
+        Reclamation.PrioriteReclamation[] priorite = new Reclamation.PrioriteReclamation[1];
+        Set<String> motsCles = new LinkedHashSet<>();
+
+        for (String text : new String[]{objet, description}) {
+            current.match(text, (pattern, rule) -> {
+                motsCles.add(pattern);
+                if (rule.type() != null) {
+                    typeVotes.merge(rule.type(), rule.poids(), Integer::sum);
+                }
+                if (rule.serviceCode() != null) {
+                    serviceVotes.merge(rule.serviceCode(), rule.poids(), Integer::sum);
+                }
+                // L'ordre de l'énumération va de CRITIQUE à BASSE
+                if (rule.priorite() != null && (priorite[0] == null || rule.priorite().ordinal() < priorite[0].ordinal())) {
+                    priorite[0] = rule.priorite();
+                }
+            });
+        }
+        return TriageSuggestion.builder()
+                .typeReclamation(best(typeVotes))
+                .priorite(priorite[0])
+                .serviceCode(best(serviceVotes))
+                .motsCles(List.copyOf(motsCles))
+                .build();
+    }
+
+    public int size() {
+        return automaton.get().patternCount();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() throws IOException {
+        reload(true);
+    }
+
+    @Scheduled(fixedDelayString = "${application.reclamations.triage.reload-interval:30000}")
+    public void reloadIfChanged() throws IOException {
+        reload(false);
+    }
+
+    // Renvoie le nombre de motifs chargés
+    public synchronized int reload(boolean force) throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) {
+            return size();
+        }
+        long modified = resource.isFile() ? resource.lastModified() : 0;
+        if (!force && modified == lastModified) {
+            return size();
+        }
+        List<Map.Entry<String, TriageRule>> entries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                entries.add(parse(line, lineNumber));
+            }
+        }
+        automaton.set(AhoCorasick.compile(entries));
+        lastModified = modified;
+        return entries.size();
+    }
+
+    private static Map.Entry<String, TriageRule> parse(String line, int lineNumber) {
+        String[] parts = line.split("\\|");
+        Reclamation.TypeReclamation type = null;
+        Reclamation.PrioriteReclamation priorite = null;
+        String service = null;
+        int poids = 1;
+        for (int i = 1; i < parts.length; i++) {
+            String[] kv = parts[i].split("=", 2);
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Dictionnaire de tri, ligne " + lineNumber + " : attribut invalide");
+            }
+            String value = kv[1].trim();
+            switch (kv[0].trim().toLowerCase(Locale.ROOT)) {
+                case "type" -> type = Reclamation.TypeReclamation.valueOf(value.toUpperCase(Locale.ROOT));
+                case "priorite" -> priorite = Reclamation.PrioriteReclamation.valueOf(value.toUpperCase(Locale.ROOT));
+                case "service" -> service = value;
+                case "poids" -> poids = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException(
+                        "Dictionnaire de tri, ligne " + lineNumber + " : attribut inconnu " + kv[0].trim());
+            }
+        }
+        return Map.entry(parts[0].trim(), new TriageRule(type, priorite, service, poids));
+    }
+
+    private static <K> K best(Map<K, Integer> votes) {
+        return votes.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+}
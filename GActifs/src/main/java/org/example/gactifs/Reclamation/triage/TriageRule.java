@@ -0,0 +1,9 @@
+package org.example.gactifs.Reclamation.triage;
+
+import org.example.gactifs.Reclamation.model.Reclamation;
+
+// Ce qu'implique un mot-clé du dictionnaire ; chaque attribut est facultatif
+public record TriageRule(Reclamation.TypeReclamation type,
+                         Reclamation.PrioriteReclamation priorite,
+                         String serviceCode,
+                         int poids) {}
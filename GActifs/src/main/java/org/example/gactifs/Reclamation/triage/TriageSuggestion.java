@@ -0,0 +1,14 @@
+package org.example.gactifs.Reclamation.triage;
+
+import lombok.*;
+import org.example.gactifs.Reclamation.model.Reclamation;
+
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class TriageSuggestion {
+    private Reclamation.TypeReclamation typeReclamation;
+    private Reclamation.PrioriteReclamation priorite;
+    private String serviceCode;
+    private List<String> motsCles;
+}
@@ -1,15 +1,22 @@
 package org.example.gactifs.asset.controlleur;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.example.gactifs.asset.dto.*;
 import org.example.gactifs.asset.models.AssetHistory;
+import org.example.gactifs.asset.services.AssetExportService;
 import org.example.gactifs.asset.services.AssetService;
+import org.example.gactifs.common.export.ExportFormat;
+import org.example.gactifs.common.export.ExportLimiter;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -18,6 +25,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AssetController {
     private final AssetService service;
+    private final AssetExportService exportService;
+    private final ExportLimiter exportLimiter;
 
     @GetMapping
     public ApiResponse<List<AssetDto>> getAll(
@@ -90,6 +99,22 @@ public class AssetController {
                 .body(csv);
     }
 
+    // format : excel ou pdf ; filtres de la liste (serviceId, status, categorie, search), lignes écrites au fil de l'eau
+    @GetMapping("/export/{format}")
+    public void exportReport(@PathVariable String format, @RequestParam Map<String,String> filters,
+                             HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromPath(format);
+        ExportLimiter.Permit permit = exportLimiter.acquire();
+        try {
+            response.setContentType(exportFormat.contentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"assets-"
+                    + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + "." + exportFormat.extension() + "\"");
+            exportService.export(filters, exportFormat, response.getOutputStream());
+        } finally {
+            permit.close();
+        }
+    }
+
     @GetMapping("/search")
     public ApiResponse<List<AssetDto>> search(@RequestParam("q") String q){
         return ApiResponse.ok(service.search(q));
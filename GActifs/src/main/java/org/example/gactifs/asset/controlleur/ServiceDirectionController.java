@@ -7,8 +7,11 @@ import org.example.gactifs.asset.dto.ServiceDirectionDto;
 import org.example.gactifs.asset.mapper.ServiceMapper;
 import org.example.gactifs.asset.models.ServiceDirection;
 import org.example.gactifs.asset.services.ServiceDirectionService;
+import org.example.gactifs.common.SnapshotHolder;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -19,9 +22,17 @@ public class ServiceDirectionController {
     private final ServiceDirectionService service;
 
     @GetMapping
-    public ApiResponse<List<ServiceDirectionDto>> getAll(@RequestParam(required = false) Boolean actif){
-        List<ServiceDirectionDto> list = (actif != null && actif) ? service.getActive() : service.getAll();
-        return ApiResponse.ok(list);
+    public ResponseEntity<ApiResponse<List<ServiceDirectionDto>>> getAll(@RequestParam(required = false) Boolean actif,
+                                                                         WebRequest request){
+        if (actif == null || !actif) {
+            return ResponseEntity.ok(ApiResponse.ok(service.getAll()));
+        }
+        // Services actifs : instantané avec ETag, revalidable par If-None-Match (304)
+        SnapshotHolder.Snapshot<ServiceDirectionDto> snapshot = service.getActive();
+        if (request.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(snapshot.etag()).body(ApiResponse.ok(snapshot.items()));
     }
 
     @GetMapping("/paginated")
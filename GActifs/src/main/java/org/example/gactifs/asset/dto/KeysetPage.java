@@ -0,0 +1,26 @@
+package org.example.gactifs.asset.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Page obtenue par pagination par clé (keyset) : nextCursor est à renvoyer tel quel pour la page suivante
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class KeysetPage<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, String> cursorOf){
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        return KeysetPage.<T>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(content.get(content.size() - 1)) : null)
+                .build();
+    }
+}
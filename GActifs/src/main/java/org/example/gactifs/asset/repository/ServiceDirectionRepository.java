@@ -4,8 +4,10 @@ import org.example.gactifs.asset.models.ServiceDirection;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ServiceDirectionRepository extends JpaRepository<ServiceDirection, Long> {
     List<ServiceDirection> findByActifTrue();
     List<ServiceDirection> findByNomContainingIgnoreCase(String q);
+    Optional<ServiceDirection> findFirstByCodeIgnoreCase(String code);
 }
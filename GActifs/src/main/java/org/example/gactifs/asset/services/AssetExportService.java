@@ -0,0 +1,66 @@
+package org.example.gactifs.asset.services;
+
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.asset.enums.AssetCategory;
+import org.example.gactifs.asset.enums.AssetStatus;
+import org.example.gactifs.common.export.ExportFormat;
+import org.example.gactifs.common.export.TableExporter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// Export Excel / PDF des actifs, mêmes filtres que la liste (serviceId, status, categorie, search)
+@Service
+@RequiredArgsConstructor
+public class AssetExportService {
+
+    private static final List<String> HEADERS = List.of("Id", "Nom", "Référence", "Catégorie", "État",
+            "Date d'acquisition", "Valeur", "Numéro de série", "Localisation", "Service");
+
+    private static final String SELECT =
+            "SELECT a.id, a.nom, a.reference, a.categorie, a.etat, a.date_acquisition, a.valeur, a.numero_serie, " +
+            "a.localisation, s.nom AS service_nom " +
+            "FROM asset a LEFT JOIN service_direction s ON s.id = a.service_id WHERE 1 = 1";
+
+    private final TableExporter exporter;
+
+    public long export(Map<String, String> filters, ExportFormat format, OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder(SELECT);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (filters.get("serviceId") != null) {
+            sql.append(" AND a.service_id = :serviceId");
+            params.addValue("serviceId", Long.valueOf(filters.get("serviceId")));
+        }
+        if (filters.get("status") != null) {
+            sql.append(" AND a.etat = :etat");
+            params.addValue("etat", AssetStatus.valueOf(filters.get("status").toUpperCase()).name());
+        }
+        if (filters.get("categorie") != null) {
+            sql.append(" AND a.categorie = :categorie");
+            params.addValue("categorie", AssetCategory.valueOf(filters.get("categorie").toUpperCase()).name());
+        }
+        if (filters.get("search") != null && !filters.get("search").isBlank()) {
+            sql.append(" AND (lower(a.nom) LIKE :q OR lower(a.reference) LIKE :q)");
+            params.addValue("q", "%" + filters.get("search").trim().toLowerCase() + "%");
+        }
+        sql.append(" ORDER BY a.id");
+
+        return exporter.export(format, out, "Actifs", HEADERS, sql.toString(), params, rs -> new Object[]{
+                rs.getLong("id"),
+                rs.getString("nom"),
+                rs.getString("reference"),
+                rs.getString("categorie"),
+                rs.getString("etat"),
+                rs.getObject("date_acquisition", LocalDate.class),
+                rs.getBigDecimal("valeur"),
+                rs.getString("numero_serie"),
+                rs.getString("localisation"),
+                rs.getString("service_nom")
+        });
+    }
+}
@@ -1,9 +1,12 @@
 package org.example.gactifs.asset.services;
 
 
+import org.example.gactifs.Category.Service.CategoryAssetCounter;
+import org.example.gactifs.common.numbering.NumberingService;
 import org.example.gactifs.asset.dto.AssetCreateDto;
 import org.example.gactifs.asset.dto.AssetDto;
 import org.example.gactifs.asset.dto.AssetUpdateDto;
+import org.example.gactifs.asset.enums.AssetCategory;
 import org.example.gactifs.asset.enums.AssetStatus;
 import org.example.gactifs.asset.mapper.AssetMapper;
 import org.example.gactifs.asset.models.Asset;
@@ -30,6 +33,8 @@ public class AssetService {
     private final AssetRepository repo;
     private final ServiceDirectionRepository serviceRepo;
     private final AssetHistoryRepository historyRepo;
+    private final CategoryAssetCounter categoryCounter;
+    private final NumberingService numberingService;
 
     public List<AssetDto> getAll(Map<String, String> filters){
         // simple filter implementation: search param q, serviceId, status, category
@@ -80,9 +85,16 @@ public class AssetService {
     public AssetDto create(AssetCreateDto dto, String actor){
         ServiceDirection s = serviceRepo.findById(dto.getServiceId()).orElse(null);
         Asset asset = AssetMapper.fromCreateDto(dto, s);
+        if (asset.getReference() == null || asset.getReference().isBlank()) {
+            asset.setReference(numberingService.nextAssetReference());
+        }
         asset.setDateCreation(LocalDateTime.now());
         asset.setCreatedBy(actor);
-        Asset saved = repo.save(asset);
+        Asset saved = categoryCounter.write(() -> {
+            Asset created = repo.save(asset);
+            categoryCounter.increment(created.getCategorie());
+            return created;
+        });
         saveHistory(saved.getId(), "CREATED", "Création de l'actif", actor);
         return AssetMapper.toDto(saved);
     }
@@ -93,10 +105,15 @@ public class AssetService {
             if (dto.getServiceId() != null) {
                 s = serviceRepo.findById(dto.getServiceId()).orElse(null);
             }
+            AssetCategory previousCategory = existing.getCategorie();
             AssetMapper.updateFromDto(existing, dto, s);
             existing.setDateModification(LocalDateTime.now());
             existing.setModifiedBy(actor);
-            Asset saved = repo.save(existing);
+            Asset saved = categoryCounter.write(() -> {
+                Asset updated = repo.save(existing);
+                categoryCounter.moved(previousCategory, updated.getCategorie());
+                return updated;
+            });
             saveHistory(saved.getId(), "UPDATED", "Mise à jour", actor);
             return AssetMapper.toDto(saved);
         }).orElse(null);
@@ -104,7 +121,10 @@ public class AssetService {
 
     public void delete(Long id, String actor){
         repo.findById(id).ifPresent(a -> {
-            repo.delete(a);
+            categoryCounter.write(() -> {
+                repo.delete(a);
+                categoryCounter.decrement(a.getCategorie());
+            });
             saveHistory(id, "DELETED", "Suppression", actor);
         });
     }
@@ -167,7 +187,10 @@ public class AssetService {
 
     public void bulkDelete(List<Long> ids, String actor){
         List<Asset> assets = repo.findAllById(ids);
-        repo.deleteAll(assets);
+        categoryCounter.write(() -> {
+            repo.deleteAll(assets);
+            assets.forEach(a -> categoryCounter.decrement(a.getCategorie()));
+        });
         ids.forEach(id -> saveHistory(id, "DELETED", "Suppression en masse", actor));
     }
 
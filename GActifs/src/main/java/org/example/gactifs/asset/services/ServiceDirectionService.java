@@ -1,9 +1,12 @@
 package org.example.gactifs.asset.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import org.example.gactifs.asset.dto.ServiceDirectionDto;
 import org.example.gactifs.asset.mapper.ServiceMapper;
 import org.example.gactifs.asset.models.ServiceDirection;
 import org.example.gactifs.asset.repository.ServiceDirectionRepository;
+import org.example.gactifs.common.SnapshotHolder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -16,13 +19,23 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ServiceDirectionService {
     private final ServiceDirectionRepository repo;
+    private final ObjectMapper objectMapper;
+
+    private SnapshotHolder<ServiceDirectionDto> activeServices;
+
+    @PostConstruct
+    void initSnapshot() {
+        activeServices = new SnapshotHolder<>(
+                () -> repo.findByActifTrue().stream().map(ServiceMapper::toDto).collect(Collectors.toList()),
+                objectMapper);
+    }
 
     public List<ServiceDirectionDto> getAll(){
         return repo.findAll().stream().map(ServiceMapper::toDto).collect(Collectors.toList());
     }
 
-    public List<ServiceDirectionDto> getActive(){
-        return repo.findByActifTrue().stream().map(ServiceMapper::toDto).collect(Collectors.toList());
+    public SnapshotHolder.Snapshot<ServiceDirectionDto> getActive(){
+        return activeServices.get();
     }
 
     public Page<ServiceDirection> getPaginated(int page, int size){
@@ -37,6 +50,7 @@ public class ServiceDirectionService {
         ServiceDirection s = ServiceMapper.toEntity(dto);
         s.setId(null);
         ServiceDirection saved = repo.save(s);
+        activeServices.refresh();
         return ServiceMapper.toDto(saved);
     }
 
@@ -49,12 +63,15 @@ public class ServiceDirectionService {
             existing.setEmail(dto.getEmail() != null ? dto.getEmail() : existing.getEmail());
             existing.setTelephone(dto.getTelephone() != null ? dto.getTelephone() : existing.getTelephone());
             existing.setActif(dto.getActif() == null ? existing.isActif() : dto.getActif());
-            return ServiceMapper.toDto(repo.save(existing));
+            ServiceDirection saved = repo.save(existing);
+            activeServices.refresh();
+            return ServiceMapper.toDto(saved);
         }).orElse(null);
     }
 
     public void delete(Long id){
         repo.deleteById(id);
+        activeServices.refresh();
     }
 
     public List<ServiceDirectionDto> search(String q){
@@ -3,10 +3,14 @@ package org.example.gactifs.auth;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.example.gactifs.auth.throttle.LoginThrottledException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
+import java.util.Map;
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
@@ -22,9 +26,10 @@ public class AuthenticationController {
   }
   @PostMapping("/authenticate")
   public ResponseEntity<AuthenticationResponse> authenticate(
-      @RequestBody AuthenticationRequest request
+      @RequestBody AuthenticationRequest request,
+      HttpServletRequest httpRequest
   ) {
-    return ResponseEntity.ok(service.authenticate(request));
+    return ResponseEntity.ok(service.authenticate(request, httpRequest.getRemoteAddr()));
   }
 
   @PostMapping("/refresh-token")
@@ -35,5 +40,12 @@ public class AuthenticationController {
     service.refreshToken(request, response);
   }
 
+  @ExceptionHandler(LoginThrottledException.class)
+  public ResponseEntity<Map<String, String>> handleThrottled(LoginThrottledException e) {
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+        .body(Map.of("message", e.getMessage()));
+  }
+
 
 }
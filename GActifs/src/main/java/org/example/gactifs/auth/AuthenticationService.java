@@ -8,10 +8,13 @@ import lombok.RequiredArgsConstructor;
 import org.example.gactifs.auth.Model.User;
 import org.example.gactifs.auth.enums.Role;
 import org.example.gactifs.auth.repository.UserRepository;
+import org.example.gactifs.auth.throttle.LoginThrottle;
 import org.example.gactifs.auth.token.Token;
 import org.example.gactifs.auth.token.TokenRepository;
 import org.example.gactifs.auth.token.TokenType;
+import org.example.gactifs.config.AuthenticationCache;
 import org.example.gactifs.config.JwtService;
+import org.example.gactifs.users.service.UserService;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -29,6 +32,9 @@ public class AuthenticationService {
   private final PasswordEncoder passwordEncoder;
   private final JwtService jwtService;
   private final AuthenticationManager authenticationManager;
+  private final AuthenticationCache authenticationCache;
+  private final LoginThrottle loginThrottle;
+  private final UserService userService;
   // @Autowired
   // private NotificationServiceImplementation notificationService;
 
@@ -46,6 +52,7 @@ public class AuthenticationService {
             .role(request.getRole())
             .build();
     var savedUser = repository.save(user);
+    userService.onUserWritten(savedUser);
 
 
     var jwtToken = jwtService.generateToken(user);
@@ -59,7 +66,8 @@ public class AuthenticationService {
   }
 
 
-  public AuthenticationResponse authenticate(AuthenticationRequest request) {
+  public AuthenticationResponse authenticate(AuthenticationRequest request, String clientIp) {
+    loginThrottle.check(request.getEmail(), clientIp);
     try {
       authenticationManager.authenticate(
               new UsernamePasswordAuthenticationToken(
@@ -125,6 +133,8 @@ public class AuthenticationService {
       token.setRevoked(true);
     });
     tokenRepository.saveAll(validUserTokens);
+    // Éviction après l'écriture : un rechargement concurrent ne peut plus remettre le jeton valide en cache
+    validUserTokens.forEach(token -> authenticationCache.evictToken(token.getToken()));
   }
 
   public void refreshToken(HttpServletRequest request, HttpServletResponse response) throws IOException {
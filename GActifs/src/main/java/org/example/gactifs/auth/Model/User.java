@@ -6,6 +6,7 @@ import lombok.*;
 import org.example.gactifs.auth.enums.Role;
 import org.example.gactifs.auth.token.Token;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.LocalDate;
@@ -15,7 +16,12 @@ import java.util.Objects;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_role_enabled", columnList = "role, enabled"),
+        @Index(name = "idx_users_last_name_id", columnList = "last_name, id"),
+        @Index(name = "idx_users_email_id", columnList = "email, id"),
+        @Index(name = "idx_users_registration_date_id", columnList = "registration_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -41,12 +47,21 @@ public class User implements UserDetails {
         this.enabled = enabled;
     }
 
+    // Sans @Builder.Default, User.builder() (inscription, création admin) laisserait enabled à false
+    @Builder.Default
     private boolean enabled = true;
 
+    // Valeur réelle de la colonne enabled (isEnabled() ci-dessous reste à true pour Spring Security)
+    public boolean isEnabledFlag() {
+        return enabled;
+    }
+
     private LocalDate registrationDate;
 
     // Relation avec les tokens (JWT par exemple)
+    // Exclu de toString : le principal mis en cache est détaché de la session
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    @ToString.Exclude
     private List<Token> tokens;
 
     public User(UUID id) {
@@ -66,8 +81,8 @@ public class User implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // Tu peux retourner une liste des rôles si nécessaire
-        return List.of(); // Par défaut vide, ou bien return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+        // ROLE_<rôle> : utilisé par @PreAuthorize("hasRole(...)") sur les opérations d'administration
+        return role != null ? List.of(new SimpleGrantedAuthority("ROLE_" + role.name())) : List.of();
     }
 
     @Override
@@ -2,5 +2,6 @@ package org.example.gactifs.auth.enums;
 
 public enum Role {
     ADMIN,
-
+    RESPONSABLE,
+    TECHNICIEN,
 }
@@ -1,11 +1,16 @@
 package org.example.gactifs.auth.repository;
 
 import org.example.gactifs.auth.Model.User;
+import org.example.gactifs.auth.Model.UserDTO;
 import org.example.gactifs.auth.enums.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
@@ -19,4 +24,17 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     // Recherche par prénom ou nom (ignore la casse)
     List<User> findByFirstNameIgnoreCaseContainingOrLastNameIgnoreCaseContaining(String firstName, String lastName);
 
+    // Projection légère (sans tokens) pour l'index d'autocomplétion
+    @Query("SELECT new org.example.gactifs.auth.Model.UserDTO(u.id, u.firstName, u.lastName, u.email, u.role, " +
+            "u.registrationDate, u.enabled) FROM User u")
+    List<UserDTO> findAllSummaries();
+
+    // Lignes [role, enabled, nombre]
+    @Query("SELECT u.role, u.enabled, COUNT(u) FROM User u GROUP BY u.role, u.enabled")
+    List<Object[]> countByRoleAndEnabled();
+
+    // Vérification ensembliste des emails déjà utilisés (création en masse), sans casse : emails attendus en minuscules
+    @Query("SELECT lower(u.email) FROM User u WHERE lower(u.email) IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
 }
\ No newline at end of file
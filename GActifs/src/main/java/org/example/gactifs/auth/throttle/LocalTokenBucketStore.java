@@ -0,0 +1,76 @@
+package org.example.gactifs.auth.throttle;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Seaux de jetons en mémoire, répartis sur des segments verrouillés indépendamment
+ * (lock striping) pour limiter la contention. Chaque segment est borné et évince
+ * les seaux les moins récemment utilisés.
+ */
+@Component
+public class LocalTokenBucketStore implements TokenBucketStore {
+
+    private static final class Bucket {
+        double tokens;
+        long lastRefillNanos;
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<String, Bucket> buckets;
+
+        Stripe(int maxEntries) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+    }
+
+    private final Stripe[] stripes;
+
+    public LocalTokenBucketStore(
+            @Value("${application.security.login-throttle.stripes:64}") int stripeCount,
+            @Value("${application.security.login-throttle.max-keys:100000}") int maxKeys
+    ) {
+        this.stripes = new Stripe[stripeCount];
+        int perStripe = Math.max(1, maxKeys / stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    @Override
+    public long tryConsume(String key, int capacity, double refillPerSecond) {
+        Stripe stripe = stripes[Math.floorMod(key.hashCode(), stripes.length)];
+        long now = System.nanoTime();
+        stripe.lock.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket();
+                bucket.tokens = capacity;
+                bucket.lastRefillNanos = now;
+                stripe.buckets.put(key, bucket);
+            } else {
+                double elapsedSeconds = (now - bucket.lastRefillNanos) / 1_000_000_000d;
+                bucket.tokens = Math.min(capacity, bucket.tokens + elapsedSeconds * refillPerSecond);
+                bucket.lastRefillNanos = now;
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / refillPerSecond * 1000);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.gactifs.auth.throttle;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+// Contrôle d'admission des tentatives de connexion, par compte et par adresse IP,
+// appliqué avant toute vérification du mot de passe.
+@Service
+@RequiredArgsConstructor
+public class LoginThrottle {
+
+    private final TokenBucketStore store;
+
+    @Value("${application.security.login-throttle.account.capacity:5}")
+    private int accountCapacity;
+
+    @Value("${application.security.login-throttle.account.refill-per-minute:5}")
+    private double accountRefillPerMinute;
+
+    @Value("${application.security.login-throttle.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${application.security.login-throttle.ip.refill-per-minute:20}")
+    private double ipRefillPerMinute;
+
+    public void check(String email, String clientIp) {
+        if (clientIp != null) {
+            reject(store.tryConsume("ip:" + clientIp, ipCapacity, ipRefillPerMinute / 60));
+        }
+        if (email != null) {
+            reject(store.tryConsume("account:" + email.trim().toLowerCase(Locale.ROOT),
+                    accountCapacity, accountRefillPerMinute / 60));
+        }
+    }
+
+    private void reject(long waitMillis) {
+        if (waitMillis > 0) {
+            throw new LoginThrottledException(Math.max(1, (waitMillis + 999) / 1000));
+        }
+    }
+}
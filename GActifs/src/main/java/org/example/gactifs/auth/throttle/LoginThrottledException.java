@@ -0,0 +1,19 @@
+package org.example.gactifs.auth.throttle;
+
+import lombok.Getter;
+
+import java.io.Serial;
+
+@Getter
+public class LoginThrottledException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(long retryAfterSeconds) {
+        super("Trop de tentatives de connexion, réessayez dans " + retryAfterSeconds + " s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
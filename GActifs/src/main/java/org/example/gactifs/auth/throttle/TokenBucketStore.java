@@ -0,0 +1,16 @@
+package org.example.gactifs.auth.throttle;
+
+/**
+ * Stockage des seaux de jetons utilisés par LoginThrottle.
+ * L'implémentation locale suffit pour un nœud unique et pour les tests ;
+ * un déploiement multi-nœuds fournit une implémentation partagée déclarée @Primary.
+ */
+public interface TokenBucketStore {
+
+    /**
+     * Consomme un jeton du seau identifié par key.
+     *
+     * @return 0 si le jeton a été accordé, sinon le délai en millisecondes avant le prochain jeton
+     */
+    long tryConsume(String key, int capacity, double refillPerSecond);
+}
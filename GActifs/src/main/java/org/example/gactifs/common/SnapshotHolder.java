@@ -0,0 +1,52 @@
+package org.example.gactifs.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Instantané immuable d'une liste lue très souvent et modifiée rarement (listes déroulantes).
+ * Les lectures sont sans verrou ; les écritures reconstruisent la liste et la publient
+ * par un échange atomique. Chaque instantané porte un ETag fort calculé sur son contenu JSON.
+ */
+public class SnapshotHolder<T> {
+
+    public record Snapshot<T>(List<T> items, String etag) {}
+
+    private final AtomicReference<Snapshot<T>> current = new AtomicReference<>();
+    private final Supplier<List<T>> loader;
+    private final ObjectMapper objectMapper;
+
+    public SnapshotHolder(Supplier<List<T>> loader, ObjectMapper objectMapper) {
+        this.loader = loader;
+        this.objectMapper = objectMapper;
+    }
+
+    public Snapshot<T> get() {
+        Snapshot<T> snapshot = current.get();
+        return snapshot != null ? snapshot : refresh();
+    }
+
+    // Sérialisé pour qu'un instantané plus ancien ne remplace jamais un plus récent
+    public synchronized Snapshot<T> refresh() {
+        List<T> items = List.copyOf(loader.get());
+        Snapshot<T> snapshot = new Snapshot<>(items, etagOf(items));
+        current.set(snapshot);
+        return snapshot;
+    }
+
+    private String etagOf(List<T> items) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(items));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Impossible de calculer l'ETag", e);
+        }
+    }
+}
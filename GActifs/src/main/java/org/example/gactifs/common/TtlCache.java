@@ -0,0 +1,65 @@
+package org.example.gactifs.common;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Petit cache borné avec expiration (TTL), sans dépendance externe.
+ * Quand la taille maximale est atteinte, les entrées expirées sont purgées ;
+ * si cela ne suffit pas, le cache est vidé plutôt que de grossir.
+ */
+public class TtlCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxSize;
+
+    public TtlCache(long ttlMillis, int maxSize) {
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        long now = System.currentTimeMillis();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && !entry.isExpired(now)) {
+            return entry.value();
+        }
+        V value = loader.apply(key);
+        if (value != null) {
+            put(key, value, now);
+        }
+        return value;
+    }
+
+    public void evict(K key) {
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(K key, V value, long now) {
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(e -> e.isExpired(now));
+            if (entries.size() >= maxSize) {
+                entries.clear();
+            }
+        }
+        entries.put(key, new Entry<>(value, now + ttlMillis));
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.gactifs.common.export;
+
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Classeur SXSSF : seules les WINDOW dernières lignes restent en mémoire, les précédentes partent
+ * dans un fichier temporaire compressé, recopié dans la sortie à la fermeture puis supprimé.
+ * Une nouvelle feuille est ouverte à la limite de lignes d'Excel.
+ */
+class ExcelTableWriter implements TableWriter {
+
+    private static final int WINDOW = 100;
+    private static final int MAX_ROWS_PER_SHEET = 1_000_000;
+
+    private final OutputStream out;
+    private final String title;
+    private final List<String> headers;
+    private final SXSSFWorkbook workbook = new SXSSFWorkbook(WINDOW);
+    private final CellStyle headerStyle;
+    private final CellStyle dateStyle;
+    private final CellStyle dateTimeStyle;
+    private SXSSFSheet sheet;
+    private int sheets;
+    private int rowIndex;
+
+    ExcelTableWriter(OutputStream out, String title, List<String> headers) {
+        this.out = out;
+        this.title = title;
+        this.headers = headers;
+        workbook.setCompressTempFiles(true);
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        headerStyle = workbook.createCellStyle();
+        headerStyle.setFont(bold);
+        CreationHelper helper = workbook.getCreationHelper();
+        dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(helper.createDataFormat().getFormat("dd/mm/yyyy"));
+        dateTimeStyle = workbook.createCellStyle();
+        dateTimeStyle.setDataFormat(helper.createDataFormat().getFormat("dd/mm/yyyy hh:mm"));
+        newSheet();
+    }
+
+    @Override
+    public void row(Object... values) {
+        if (rowIndex > MAX_ROWS_PER_SHEET) {
+            newSheet();
+        }
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            Cell cell = row.createCell(i);
+            if (value instanceof Number n) {
+                cell.setCellValue(n instanceof BigDecimal d ? d.doubleValue() : n.doubleValue());
+            } else if (value instanceof LocalDateTime dt) {
+                cell.setCellValue(dt);
+                cell.setCellStyle(dateTimeStyle);
+            } else if (value instanceof LocalDate d) {
+                cell.setCellValue(d);
+                cell.setCellStyle(dateStyle);
+            } else if (value instanceof Boolean b) {
+                cell.setCellValue(b);
+            } else {
+                cell.setCellValue(value instanceof UUID || value instanceof Enum<?> ? value.toString() : String.valueOf(value));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.write(out);
+            out.flush();
+        } finally {
+            workbook.close();
+        }
+    }
+
+    private void newSheet() {
+        sheet = workbook.createSheet(sheets == 0 ? title : title + " (" + (sheets + 1) + ")");
+        sheets++;
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < headers.size(); i++) {
+            Cell cell = header.createCell(i);
+            cell.setCellValue(headers.get(i));
+            cell.setCellStyle(headerStyle);
+        }
+        sheet.createFreezePane(0, 1);
+        rowIndex = 1;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.gactifs.common.export;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+    EXCEL("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx"),
+    PDF("application/pdf", "pdf");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    // Segment d'URL (excel, pdf), insensible à la casse
+    public static ExportFormat fromPath(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equals(value.toUpperCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new UnsupportedExportFormatException(value);
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.gactifs.common.export;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Nombre borné d'exports simultanés ; au-delà, la requête attend brièvement puis est refusée (503)
+@Component
+public class ExportLimiter {
+
+    private final Semaphore permits;
+    private final long timeoutMillis;
+
+    public ExportLimiter(@Value("${application.export.max-concurrent:2}") int maxConcurrent,
+                         @Value("${application.export.acquire-timeout:2000}") long timeoutMillis) {
+        this.permits = new Semaphore(Math.max(maxConcurrent, 1), true);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public Permit acquire() {
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ExportBusyException("Trop d'exports en cours, réessayez dans quelques instants");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExportBusyException("Export interrompu");
+        }
+        return new Permit();
+    }
+
+    public final class Permit implements AutoCloseable {
+        private boolean released;
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                permits.release();
+            }
+        }
+    }
+}
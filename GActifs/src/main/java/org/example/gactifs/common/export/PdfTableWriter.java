@@ -0,0 +1,86 @@
+package org.example.gactifs.common.export;
+
+import com.lowagie.text.*;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * PDF paysage paginé. Le tableau est déclaré incomplet (LargeElement) et ajouté au document toutes
+ * les FLUSH_ROWS lignes : les lignes déjà mises en page sont écrites dans la sortie et libérées,
+ * l'en-tête est répété sur chaque page.
+ */
+class PdfTableWriter implements TableWriter {
+
+    private static final int FLUSH_ROWS = 200;
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private static final Font HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 8);
+    private static final Font CELL_FONT = FontFactory.getFont(FontFactory.HELVETICA, 7);
+
+    private final Document document = new Document(PageSize.A4.rotate(), 20, 20, 20, 20);
+    private final PdfPTable table;
+    private int pending;
+
+    PdfTableWriter(OutputStream out, String title, List<String> headers) {
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false);
+        document.addTitle(title);
+        document.open();
+        document.add(new Paragraph(title, FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12)));
+
+        table = new PdfPTable(headers.size());
+        table.setWidthPercentage(100);
+        table.setSpacingBefore(8);
+        table.setComplete(false);
+        for (String header : headers) {
+            PdfPCell cell = new PdfPCell(new Phrase(header, HEADER_FONT));
+            cell.setBackgroundColor(new Color(230, 230, 230));
+            table.addCell(cell);
+        }
+        table.setHeaderRows(1);
+    }
+
+    @Override
+    public void row(Object... values) {
+        for (Object value : values) {
+            table.addCell(new Phrase(format(value), CELL_FONT));
+        }
+        if (++pending >= FLUSH_ROWS) {
+            document.add(table);
+            pending = 0;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        table.setComplete(true);
+        document.add(table);
+        document.close();
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof LocalDateTime dt) {
+            return dt.format(DATE_TIME);
+        }
+        if (value instanceof LocalDate d) {
+            return d.format(DATE);
+        }
+        if (value instanceof BigDecimal d) {
+            return d.toPlainString();
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.gactifs.common.export;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Exécute une requête d'export et écrit chaque ligne dans un {@link TableWriter} au fil du curseur.
+ * <p>
+ * Le pilote PostgreSQL ne lit par paquets de {@code fetchSize} lignes qu'hors auto-commit : la requête
+ * tourne donc dans une transaction en lecture seule. Ni le résultat ni le document ne sont matérialisés,
+ * la mémoire reste bornée par la taille de paquet et la fenêtre du writer.
+ */
+@Component
+public class TableExporter {
+
+    @FunctionalInterface
+    public interface RowMapper {
+        Object[] map(ResultSet rs) throws SQLException;
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnly;
+
+    public TableExporter(DataSource dataSource, PlatformTransactionManager transactionManager,
+                         @Value("${application.export.fetch-size:1000}") int fetchSize) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public long export(ExportFormat format, OutputStream out, String title, List<String> headers,
+                       String sql, MapSqlParameterSource params, RowMapper mapper) throws IOException {
+        try (TableWriter writer = TableWriter.open(format, out, title, headers)) {
+            Long rows = readOnly.execute(status -> {
+                long[] count = {0};
+                jdbcTemplate.query(sql, params, rs -> {
+                    try {
+                        writer.row(mapper.map(rs));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    count[0]++;
+                });
+                return count[0];
+            });
+            return rows != null ? rows : 0;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
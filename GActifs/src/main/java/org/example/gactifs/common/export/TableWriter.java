@@ -0,0 +1,25 @@
+package org.example.gactifs.common.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Écriture d'un tableau ligne par ligne vers un flux. Les implémentations ne gardent en mémoire
+ * qu'une fenêtre bornée de lignes, quel que soit le nombre total de lignes.
+ */
+public interface TableWriter extends AutoCloseable {
+
+    void row(Object... values) throws IOException;
+
+    // Termine le document ; le flux de sortie reste ouvert
+    @Override
+    void close() throws IOException;
+
+    static TableWriter open(ExportFormat format, OutputStream out, String title, List<String> headers) {
+        return switch (format) {
+            case EXCEL -> new ExcelTableWriter(out, title, headers);
+            case PDF -> new PdfTableWriter(out, title, headers);
+        };
+    }
+}
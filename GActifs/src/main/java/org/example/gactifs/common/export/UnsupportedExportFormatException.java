@@ -0,0 +1,17 @@
+package org.example.gactifs.common.export;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnsupportedExportFormatException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public UnsupportedExportFormatException(String format) {
+        super("Format d'export non supporté : " + format + " (excel ou pdf)");
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.gactifs.common.numbering;
+
+/**
+ * Source des blocs de numéros. Chaque appel réserve un bloc [début, début + taille)
+ * qui n'est attribué à aucun autre appelant, y compris sur un autre noeud.
+ */
+public interface BlockSource {
+
+    Block reserve(String series);
+
+    record Block(long start, int size) {}
+}
@@ -0,0 +1,60 @@
+package org.example.gactifs.common.numbering;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Allocation hi/lo : les numéros sont distribués sans verrou à partir du bloc courant
+ * (un getAndIncrement), et un nouveau bloc n'est demandé à la BlockSource qu'une fois
+ * le précédent épuisé. Les numéros d'un bloc non consommé avant un arrêt sont perdus,
+ * ce qui crée des trous mais jamais de doublons.
+ */
+public class NumberAllocator {
+
+    private final BlockSource source;
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    public NumberAllocator(BlockSource source) {
+        this.source = source;
+    }
+
+    public long next(String key) {
+        Series s = series.computeIfAbsent(key, Series::new);
+        while (true) {
+            Range range = s.current;
+            long value = range.cursor.getAndIncrement();
+            if (value < range.end) {
+                return value;
+            }
+            s.refill(range);
+        }
+    }
+
+    private final class Series {
+        private final String key;
+        private volatile Range current = new Range(0, 0);
+
+        Series(String key) {
+            this.key = key;
+        }
+
+        // Un seul thread recharge ; les autres retrouvent le nouveau bloc en relisant current
+        synchronized void refill(Range exhausted) {
+            if (current == exhausted) {
+                BlockSource.Block block = source.reserve(key);
+                current = new Range(block.start(), block.start() + block.size());
+            }
+        }
+    }
+
+    private static final class Range {
+        final AtomicLong cursor;
+        final long end;
+
+        Range(long start, long end) {
+            this.cursor = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.gactifs.common.numbering;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Year;
+
+// Numéros métier au format PREFIXE-ANNEE-000123, une série (et une séquence) par préfixe et par année
+@Service
+public class NumberingService {
+
+    public static final String RECLAMATION = "REC";
+    public static final String INTERVENTION = "INT";
+    public static final String ASSET = "ACT";
+
+    private final NumberAllocator allocator;
+    private final Clock clock;
+
+    @Autowired
+    public NumberingService(BlockSource blockSource) {
+        this(new NumberAllocator(blockSource), Clock.systemDefaultZone());
+    }
+
+    NumberingService(NumberAllocator allocator, Clock clock) {
+        this.allocator = allocator;
+        this.clock = clock;
+    }
+
+    public String nextReclamationNumero() {
+        return next(RECLAMATION);
+    }
+
+    public String nextInterventionNumero() {
+        return next(INTERVENTION);
+    }
+
+    public String nextAssetReference() {
+        return next(ASSET);
+    }
+
+    public String next(String prefix) {
+        int year = Year.now(clock).getValue();
+        String series = prefix + "-" + year;
+        return series + "-" + String.format("%06d", allocator.next(series));
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.gactifs.common.numbering;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Réserve les blocs dans une séquence PostgreSQL par série (ex. numero_rec_2026) créée
+ * avec INCREMENT BY taille-de-bloc : un seul nextval suffit pour obtenir un bloc entier.
+ * La taille effective est relue dans la séquence, ce qui reste sûr si la configuration change.
+ */
+@Component
+@RequiredArgsConstructor
+public class SequenceBlockSource implements BlockSource {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${application.numbering.block-size:100}")
+    private int blockSize;
+
+    private final Map<String, Integer> increments = new ConcurrentHashMap<>();
+
+    @Override
+    public Block reserve(String series) {
+        String sequence = sequenceName(series);
+        int increment = increments.computeIfAbsent(sequence, this::createSequence);
+        Long start = jdbcTemplate.queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+        return new Block(start, increment);
+    }
+
+    private int createSequence(String sequence) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence + " START WITH 1 INCREMENT BY " + blockSize);
+        Integer increment = jdbcTemplate.queryForObject(
+                "SELECT increment_by FROM pg_sequences WHERE sequencename = ?", Integer.class, sequence);
+        return increment != null ? increment : blockSize;
+    }
+
+    // Nom dérivé de la série, limité à [a-z0-9_] puisqu'il est concaténé dans le SQL
+    static String sequenceName(String series) {
+        return "numero_" + series.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "_");
+    }
+}
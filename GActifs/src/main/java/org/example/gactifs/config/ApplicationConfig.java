@@ -3,18 +3,20 @@ package org.example.gactifs.config;
 
 
 import lombok.RequiredArgsConstructor;
+import org.example.gactifs.auth.Model.User;
 import org.example.gactifs.auth.auditing.ApplicationAuditAware;
 import org.example.gactifs.auth.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 
 @Configuration
@@ -22,12 +24,29 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class ApplicationConfig {
 
   private final UserRepository repository;
+  private final AuthenticationCache authenticationCache;
 
+  @Value("${application.security.password.bcrypt-strength:10}")
+  private int bcryptStrength;
+
+  @Value("${application.security.password.pool-size:4}")
+  private int hashingPoolSize;
+
+  @Value("${application.security.password.queue-capacity:64}")
+  private int hashingQueueCapacity;
+
+  @Value("${application.security.password.timeout:5000}")
+  private long hashingTimeoutMillis;
 
   @Bean
   public UserDetailsService userDetailsService() {
-    return username -> repository.findByEmail(username)
-            .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    return username -> {
+      User user = authenticationCache.getUser(username, email -> repository.findByEmail(email).orElse(null));
+      if (user == null) {
+        throw new UsernameNotFoundException("User not found");
+      }
+      return user;
+    };
   }
 
 
@@ -36,10 +55,25 @@ public class ApplicationConfig {
     DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
     authProvider.setUserDetailsService(userDetailsService());
     authProvider.setPasswordEncoder(passwordEncoder());
+    authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
     return authProvider;
   }
 
 
+  // Ré-encode le mot de passe à la connexion quand le coût BCrypt stocké est inférieur au coût configuré
+  @Bean
+  public UserDetailsPasswordService userDetailsPasswordService() {
+    return (userDetails, newPassword) -> {
+      User user = repository.findByEmail(userDetails.getUsername())
+              .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+      user.setPassword(newPassword);
+      repository.save(user);
+      authenticationCache.evictUser(user.getEmail());
+      return user;
+    };
+  }
+
+
   @Bean
   public ApplicationAuditAware auditorAware() {
     return new ApplicationAuditAware();
@@ -52,7 +86,8 @@ public class ApplicationConfig {
   }
 
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public BoundedPasswordEncoder passwordEncoder() {
+    return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength),
+            hashingPoolSize, hashingQueueCapacity, hashingTimeoutMillis);
   }
 }
@@ -0,0 +1,41 @@
+package org.example.gactifs.config;
+
+import org.example.gactifs.auth.Model.User;
+import org.example.gactifs.common.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+// Cache des principaux et de l'état des tokens utilisé par JwtAuthenticationFilter,
+// pour éviter les accès base à chaque requête authentifiée.
+@Component
+public class AuthenticationCache {
+
+  private final TtlCache<String, User> users;
+  private final TtlCache<String, Boolean> tokens;
+
+  public AuthenticationCache(
+          @Value("${application.security.auth-cache.ttl:60000}") long ttlMillis,
+          @Value("${application.security.auth-cache.max-size:10000}") int maxSize
+  ) {
+    this.users = new TtlCache<>(ttlMillis, maxSize);
+    this.tokens = new TtlCache<>(ttlMillis, maxSize);
+  }
+
+  public User getUser(String email, Function<String, User> loader) {
+    return users.get(email, loader);
+  }
+
+  public boolean isTokenValid(String jwt, Function<String, Boolean> loader) {
+    return Boolean.TRUE.equals(tokens.get(jwt, loader));
+  }
+
+  public void evictUser(String email) {
+    users.evict(email);
+  }
+
+  public void evictToken(String jwt) {
+    tokens.evict(jwt);
+  }
+}
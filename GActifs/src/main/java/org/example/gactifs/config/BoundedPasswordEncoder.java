@@ -0,0 +1,129 @@
+package org.example.gactifs.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordEncoder qui exécute le hachage (BCrypt) sur un pool dédié et borné
+ * plutôt que sur les threads Tomcat. Quand le pool et sa file sont pleins,
+ * la demande est rejetée immédiatement (PasswordHashingRejectedException, 503)
+ * au lieu de bloquer les autres endpoints.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final long timeoutMillis;
+
+  public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity, long timeoutMillis) {
+    this.delegate = delegate;
+    this.timeoutMillis = timeoutMillis;
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(
+            poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            r -> {
+              Thread t = new Thread(r, "password-hashing-" + threadCount.incrementAndGet());
+              t.setDaemon(true);
+              return t;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return await(submit(() -> delegate.encode(rawPassword)));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return await(submit(() -> delegate.matches(rawPassword, encodedPassword)));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  // Variante non bloquante, pour les traitements en masse
+  public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+    return submit(() -> delegate.encode(rawPassword)).completion;
+  }
+
+  public int getActiveCount() {
+    return executor.getActiveCount();
+  }
+
+  public int getQueueSize() {
+    return executor.getQueue().size();
+  }
+
+  private <T> HashingTask<T> submit(Callable<T> task) {
+    HashingTask<T> hashing = new HashingTask<>(task);
+    try {
+      executor.execute(hashing);
+    } catch (RejectedExecutionException e) {
+      throw new PasswordHashingRejectedException("Service de hachage saturé, réessayez plus tard");
+    }
+    return hashing;
+  }
+
+  /*
+   * Au délai dépassé, une tâche encore en file en est retirée et libère sa place ; une tâche en cours
+   * est interrompue, mais BCrypt ne consulte pas l'interruption : son thread reste occupé jusqu'à la
+   * fin du hachage (quelques centaines de ms au plus selon le coût configuré).
+   */
+  private <T> T await(HashingTask<T> task) {
+    try {
+      return task.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      task.cancel(true);
+      executor.remove(task);
+      throw new PasswordHashingRejectedException("Délai de hachage dépassé");
+    } catch (InterruptedException e) {
+      task.cancel(true);
+      executor.remove(task);
+      Thread.currentThread().interrupt();
+      throw new PasswordHashingRejectedException("Hachage interrompu");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  // FutureTask : cancel(true) interrompt réellement le thread du pool ; completion sert aux appels asynchrones
+  private static final class HashingTask<T> extends FutureTask<T> {
+
+    final CompletableFuture<T> completion = new CompletableFuture<>();
+
+    HashingTask(Callable<T> callable) {
+      super(callable);
+    }
+
+    @Override
+    protected void done() {
+      if (isCancelled()) {
+        completion.cancel(false);
+        return;
+      }
+      try {
+        completion.complete(get());
+      } catch (ExecutionException e) {
+        completion.completeExceptionally(e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        completion.completeExceptionally(e);
+      }
+    }
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdown();
+  }
+}
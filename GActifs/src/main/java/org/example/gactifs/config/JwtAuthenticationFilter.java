@@ -1,10 +1,11 @@
 package org.example.gactifs.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.example.gactifs.auth.token.TokenRepository;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -16,33 +17,59 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtService jwtService;
   private final UserDetailsService userDetailsService;
   private final TokenRepository tokenRepository;
+  private final AuthenticationCache authenticationCache;
+
+  // Routes publiques et statiques : aucun traitement JWT
+  private final RouteClassifier publicRoutes = new RouteClassifier(SecurityConfiguration.PUBLIC_URL);
+
+  private final Timer publicTimer;
+  private final Timer protectedTimer;
+
+  public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService,
+                                 TokenRepository tokenRepository, AuthenticationCache authenticationCache,
+                                 MeterRegistry meterRegistry) {
+    this.jwtService = jwtService;
+    this.userDetailsService = userDetailsService;
+    this.tokenRepository = tokenRepository;
+    this.authenticationCache = authenticationCache;
+    this.publicTimer = Timer.builder("security.jwt.filter").tag("route", "public").register(meterRegistry);
+    this.protectedTimer = Timer.builder("security.jwt.filter").tag("route", "protected").register(meterRegistry);
+  }
 
   @Override
   protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
                                   @NonNull FilterChain filterChain) throws ServletException, IOException {
 
-    String requestPath = request.getServletPath();
-
-    if (requestPath.matches("^(/api/v1/auth/(authenticate|register)).*")) {
+    long start = System.nanoTime();
+    if (publicRoutes.matches(request.getServletPath())) {
+      publicTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
       filterChain.doFilter(request, response);
       return;
     }
 
+    try {
+      authenticate(request);
+    } finally {
+      protectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+    filterChain.doFilter(request, response);
+  }
+
+  private void authenticate(HttpServletRequest request) {
     // Vérification du token JWT
     final String authHeader = request.getHeader("Authorization");
     final String jwt;
     final String userEmail;
 
     if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-      filterChain.doFilter(request, response);
       return;
     }
 
@@ -52,8 +79,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
       UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
 
-      boolean isTokenValid = tokenRepository.findByToken(jwt).map(t -> !t.isExpired() && !t.isRevoked())
-              .orElse(false);
+      boolean isTokenValid = authenticationCache.isTokenValid(jwt, token -> tokenRepository.findByToken(token)
+              .map(t -> !t.isExpired() && !t.isRevoked())
+              .orElse(false));
 
       if (jwtService.isTokenValid(jwt, userDetails) && isTokenValid) {
         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails,
@@ -64,7 +92,5 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         SecurityContextHolder.getContext().setAuthentication(authToken);
       }
     }
-
-    filterChain.doFilter(request, response);
   }
-}
\ No newline at end of file
+}
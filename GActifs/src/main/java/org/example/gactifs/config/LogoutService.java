@@ -14,6 +14,7 @@ import org.springframework.stereotype.Service;
 public class LogoutService implements LogoutHandler {
 
   private final TokenRepository tokenRepository;
+  private final AuthenticationCache authenticationCache;
 
   @Override
   public void logout(
@@ -33,6 +34,7 @@ public class LogoutService implements LogoutHandler {
       storedToken.setExpired(true);
       storedToken.setRevoked(true);
       tokenRepository.save(storedToken);
+      authenticationCache.evictToken(jwt);
       SecurityContextHolder.clearContext();
     }
   }
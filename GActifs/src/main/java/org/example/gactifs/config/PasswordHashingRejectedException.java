@@ -0,0 +1,17 @@
+package org.example.gactifs.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingRejectedException extends RuntimeException {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  public PasswordHashingRejectedException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,73 @@
+package org.example.gactifs.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Arbre (trie) de motifs de chemins, construit une fois au démarrage.
+ * Un motif est soit un chemin exact ("/api/v1/auth/register"), soit un préfixe
+ * terminé par "/**" ("/images/**", qui couvre aussi "/images").
+ * La résolution d'un chemin parcourt ses segments une seule fois, sans regex.
+ */
+public class RouteClassifier {
+
+  private static final class Node {
+    final Map<String, Node> children = new HashMap<>();
+    boolean exact;
+    boolean prefix;
+  }
+
+  private final Node root = new Node();
+
+  public RouteClassifier(String... patterns) {
+    for (String pattern : patterns) {
+      add(pattern);
+    }
+  }
+
+  private void add(String pattern) {
+    boolean prefix = pattern.endsWith("/**");
+    String path = prefix ? pattern.substring(0, pattern.length() - 3) : pattern;
+    Node node = root;
+    int start = 0;
+    while (start < path.length()) {
+      int end = nextSlash(path, start);
+      if (end > start) {
+        node = node.children.computeIfAbsent(path.substring(start, end), k -> new Node());
+      }
+      start = end + 1;
+    }
+    if (prefix) {
+      node.prefix = true;
+    } else {
+      node.exact = true;
+    }
+  }
+
+  public boolean matches(String path) {
+    if (path == null) {
+      return false;
+    }
+    Node node = root;
+    int start = 0;
+    while (start < path.length()) {
+      if (node.prefix) {
+        return true;
+      }
+      int end = nextSlash(path, start);
+      if (end > start) {
+        node = node.children.get(path.substring(start, end));
+        if (node == null) {
+          return false;
+        }
+      }
+      start = end + 1;
+    }
+    return node.prefix || node.exact;
+  }
+
+  private static int nextSlash(String path, int from) {
+    int i = path.indexOf('/', from);
+    return i < 0 ? path.length() : i;
+  }
+}
@@ -38,10 +38,24 @@ public class SecurityConfiguration {
             "/v3/api-docs/**",
             "/v3/api-docs.yaml",
             "/swagger-ui/**",
-            "/swagger-ui.html"
+            "/swagger-ui.html",
+            "/error"
 
     };
 
+    // Routes publiques ou statiques pour lesquelles le filtre JWT ne fait aucun traitement
+    static final String[] PUBLIC_URL = {
+            "/api/v1/auth/authenticate",
+            "/api/v1/auth/register",
+            "/api/v1/auth/refresh-token",
+            "/images/**",
+            "/v3/api-docs/**",
+            "/v3/api-docs.yaml",
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/error"
+    };
+
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final AuthenticationProvider authenticationProvider;
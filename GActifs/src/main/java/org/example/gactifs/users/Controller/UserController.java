@@ -1,12 +1,22 @@
 package org.example.gactifs.users.Controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.example.gactifs.asset.dto.KeysetPage;
 import org.example.gactifs.auth.Model.UserDTO;
 import org.example.gactifs.auth.enums.Role;
+import org.example.gactifs.users.dto.BulkUserResult;
+import org.example.gactifs.users.dto.UserDirectoryFilter;
+import org.example.gactifs.users.service.UserProvisioningService;
 import org.example.gactifs.users.service.UserService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -17,12 +27,35 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final UserProvisioningService userProvisioningService;
 
     @GetMapping
     public ResponseEntity<List<UserDTO>> getAllUsers() {
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
+    // Annuaire paginé par clé : renvoyer nextCursor dans cursor pour la page suivante
+    @GetMapping("/directory")
+    public ResponseEntity<KeysetPage<UserDTO>> getDirectory(
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean enabled,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate registeredFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate registeredTo,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        UserDirectoryFilter filter = UserDirectoryFilter.builder()
+                .role(role)
+                .enabled(enabled)
+                .registeredFrom(registeredFrom)
+                .registeredTo(registeredTo)
+                .namePrefix(q)
+                .build();
+        return ResponseEntity.ok(userService.getDirectory(filter, sort, direction, cursor, size));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserDTO> getUserById(@PathVariable UUID id) {
         return ResponseEntity.ok(userService.getUserById(id));
@@ -33,6 +66,13 @@ public class UserController {
         return ResponseEntity.ok(userService.createUser(dto, password));
     }
 
+    // Corps : tableau JSON d'utilisateurs, lu en flux ; réservé aux administrateurs
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkUserResult> createUsers(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(userProvisioningService.provision(request.getInputStream()));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<UserDTO> updateUser(@PathVariable UUID id, @RequestBody UserDTO dto) {
         return ResponseEntity.ok(userService.updateUser(id, dto));
@@ -71,6 +111,14 @@ public class UserController {
         return ResponseEntity.ok(userService.searchUsers(q));
     }
 
+    // Autocomplétion (ex. choix d'un technicien : role=TECHNICIEN)
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<UserDTO>> autocomplete(@RequestParam String q,
+                                                      @RequestParam(required = false) Role role,
+                                                      @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(userService.autocomplete(q, role, limit));
+    }
+
     @GetMapping("/by-role/{role}")
     public ResponseEntity<List<UserDTO>> getUsersByRole(@PathVariable Role role) {
         return ResponseEntity.ok(userService.getUsersByRole(role));
@@ -17,6 +17,7 @@ public class UserMapper {
                 .email(user.getEmail())
                 .role(user.getRole())
                 .registrationDate(user.getRegistrationDate())
+                .enabled(user.isEnabledFlag())
                 .build();
     }
 
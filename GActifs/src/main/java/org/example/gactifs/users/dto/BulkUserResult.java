@@ -0,0 +1,39 @@
+package org.example.gactifs.users.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUserResult {
+
+    public enum Status { CREATED, ALREADY_EXISTS, DUPLICATE_IN_REQUEST, INVALID, FAILED }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Row {
+        private int index;
+        private String email;
+        private Status status;
+        private UUID id;
+        private String message;
+    }
+
+    private List<Row> rows;
+    private int total;
+    private int created;
+    private int skipped;
+    private int failed;
+    private long hashingMillis;
+    private long insertMillis;
+    private long durationMillis;
+    private double rowsPerSecond;
+}
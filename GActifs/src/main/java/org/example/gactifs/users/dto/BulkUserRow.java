@@ -0,0 +1,16 @@
+package org.example.gactifs.users.dto;
+
+import lombok.*;
+import org.example.gactifs.auth.enums.Role;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUserRow {
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String password;
+    private Role role;
+}
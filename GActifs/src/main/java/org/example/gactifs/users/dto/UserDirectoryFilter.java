@@ -0,0 +1,18 @@
+package org.example.gactifs.users.dto;
+
+import lombok.*;
+import org.example.gactifs.auth.enums.Role;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserDirectoryFilter {
+    private Role role;
+    private Boolean enabled;
+    private LocalDate registeredFrom;
+    private LocalDate registeredTo;
+    private String namePrefix;
+}
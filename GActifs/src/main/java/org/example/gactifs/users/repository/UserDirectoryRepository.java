@@ -0,0 +1,155 @@
+package org.example.gactifs.users.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.asset.dto.KeysetPage;
+import org.example.gactifs.auth.Model.UserDTO;
+import org.example.gactifs.auth.enums.Role;
+import org.example.gactifs.users.dto.UserDirectoryFilter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Annuaire des utilisateurs : pagination par clé (tri, id) sur une projection UserDTO,
+ * sans charger les entités ni leurs tokens.
+ * <p>
+ * Chaque tri est servi par un index (colonne, id) déclaré sur la table users. La page est lue en deux
+ * segments : les valeurs non nulles, bornées par la comparaison de lignes (colonne, id) > (:v, :id)
+ * que PostgreSQL utilise comme borne de parcours de l'index, puis les valeurs NULL, toujours en fin de
+ * tri, parcourues par id. Chaque segment est trié dans l'ordre de l'index (ou son inverse) : le coût
+ * d'une page ne dépend pas de sa profondeur.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserDirectoryRepository {
+
+    public enum SortField {
+        LAST_NAME("lastName", "last_name", UserDTO::getLastName),
+        EMAIL("email", "email", UserDTO::getEmail),
+        REGISTRATION_DATE("registrationDate", "registration_date", UserDTO::getRegistrationDate);
+
+        final String property;
+        final String column;
+        final Function<UserDTO, Object> getter;
+
+        SortField(String property, String column, Function<UserDTO, Object> getter) {
+            this.property = property;
+            this.column = column;
+            this.getter = getter;
+        }
+
+        public static SortField from(String value) {
+            if (value == null || value.isBlank()) return LAST_NAME;
+            for (SortField f : values()) {
+                if (f.property.equalsIgnoreCase(value)) return f;
+            }
+            throw new IllegalArgumentException("Tri non supporté : " + value);
+        }
+
+        Object parse(String raw) {
+            return this == REGISTRATION_DATE ? LocalDate.parse(raw) : raw;
+        }
+    }
+
+    private static final String SELECT_SQL =
+            "SELECT id, first_name, last_name, email, role, registration_date, enabled FROM users WHERE 1 = 1";
+
+    private static final RowMapper<UserDTO> MAPPER = (rs, i) -> new UserDTO(
+            rs.getObject("id", UUID.class),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("email"),
+            rs.getString("role") != null ? Role.valueOf(rs.getString("role")) : null,
+            rs.getObject("registration_date", LocalDate.class),
+            rs.getBoolean("enabled"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public KeysetPage<UserDTO> find(UserDirectoryFilter filter, SortField sort, boolean ascending,
+                                    String cursor, int size) {
+        StringBuilder where = new StringBuilder();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        if (filter.getRole() != null) {
+            where.append(" AND role = :role");
+            params.addValue("role", filter.getRole().name());
+        }
+        if (filter.getEnabled() != null) {
+            where.append(" AND enabled = :enabled");
+            params.addValue("enabled", filter.getEnabled());
+        }
+        if (filter.getRegisteredFrom() != null) {
+            where.append(" AND registration_date >= :registeredFrom");
+            params.addValue("registeredFrom", filter.getRegisteredFrom());
+        }
+        if (filter.getRegisteredTo() != null) {
+            where.append(" AND registration_date <= :registeredTo");
+            params.addValue("registeredTo", filter.getRegisteredTo());
+        }
+        // Servi par les index lower(last_name) / lower(first_name) de UserDirectorySchema
+        if (filter.getNamePrefix() != null && !filter.getNamePrefix().isBlank()) {
+            where.append(" AND (lower(last_name) LIKE :prefix ESCAPE '\\' OR lower(first_name) LIKE :prefix ESCAPE '\\')");
+            params.addValue("prefix", escapeLike(filter.getNamePrefix().trim().toLowerCase(Locale.ROOT)) + "%");
+        }
+
+        String column = sort.column;
+        String op = ascending ? ">" : "<";
+        String dir = ascending ? "" : " DESC";
+        Cursor c = cursor != null && !cursor.isBlank() ? decode(cursor, sort) : null;
+        int limit = size + 1;
+        List<UserDTO> rows = new ArrayList<>(limit);
+
+        // Segment des valeurs non nulles, tant que le curseur n'est pas déjà dans la queue NULL
+        if (c == null || c.value() != null) {
+            StringBuilder sql = new StringBuilder(SELECT_SQL).append(where)
+                    .append(" AND ").append(column).append(" IS NOT NULL");
+            if (c != null) {
+                sql.append(" AND (").append(column).append(", id) ").append(op).append(" (:cursorValue, :cursorId)");
+                params.addValue("cursorValue", c.value()).addValue("cursorId", c.id());
+            }
+            sql.append(" ORDER BY ").append(column).append(dir).append(", id").append(dir).append(" LIMIT :limit");
+            rows.addAll(jdbcTemplate.query(sql.toString(), params.addValue("limit", limit), MAPPER));
+        }
+        // Queue des valeurs NULL, placée en fin de tri dans les deux sens
+        if (rows.size() < limit) {
+            StringBuilder sql = new StringBuilder(SELECT_SQL).append(where)
+                    .append(" AND ").append(column).append(" IS NULL");
+            if (c != null && c.value() == null) {
+                sql.append(" AND id ").append(op).append(" :cursorId");
+                params.addValue("cursorId", c.id());
+            }
+            sql.append(" ORDER BY id").append(dir).append(" LIMIT :limit");
+            rows.addAll(jdbcTemplate.query(sql.toString(), params.addValue("limit", limit - rows.size()), MAPPER));
+        }
+        return KeysetPage.of(rows, size, last -> encode(sort.getter.apply(last), last.getId()));
+    }
+
+    private record Cursor(Object value, UUID id) {}
+
+    private static String encode(Object value, UUID id) {
+        String raw = (value == null ? "n:" : "v:" + value) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decode(String cursor, SortField sort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            String value = raw.substring(0, sep);
+            UUID id = UUID.fromString(raw.substring(sep + 1));
+            return new Cursor(value.startsWith("v:") ? sort.parse(value.substring(2)) : null, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Curseur invalide");
+        }
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.gactifs.users.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Index d'expression pour la recherche par préfixe de nom de l'annuaire, que Hibernate ne sait pas déclarer.
+ * text_pattern_ops permet à LIKE 'préfixe%' d'utiliser l'index quelle que soit la collation ; les deux
+ * index sont combinés (BitmapOr) pour la condition sur le nom OU le prénom de UserDirectoryRepository.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDirectorySchema implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_users_lower_last_name ON users " +
+                "(lower(last_name) text_pattern_ops)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_users_lower_first_name ON users " +
+                "(lower(first_name) text_pattern_ops)");
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.gactifs.users.search;
+
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.auth.Model.UserDTO;
+import org.example.gactifs.auth.enums.Role;
+import org.example.gactifs.auth.repository.UserRepository;
+import org.example.gactifs.common.TextNormalizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index d'autocomplétion des utilisateurs (prénom, nom, email), en mémoire.
+ * Les clés normalisées (minuscules, sans accents) sont triées : une recherche par préfixe
+ * est un parcours de plage, sans balayage de la table. L'index est chargé au démarrage
+ * puis tenu à jour par UserService à chaque écriture.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserAutocompleteIndex {
+
+    // Séparateur entre la clé normalisée et l'id, inférieur à tout caractère saisi
+    private static final char SEPARATOR = '\u0000';
+
+    private final UserRepository userRepository;
+
+    private final ConcurrentSkipListMap<String, UserDTO> keys = new ConcurrentSkipListMap<>();
+    private final Map<UUID, List<String>> keysById = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        userRepository.findAllSummaries().forEach(this::upsert);
+    }
+
+    public synchronized void upsert(UserDTO user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        remove(user.getId());
+        List<String> userKeys = new ArrayList<>();
+        String first = TextNormalizer.normalize(user.getFirstName());
+        String last = TextNormalizer.normalize(user.getLastName());
+        addKey(userKeys, first, user);
+        addKey(userKeys, last, user);
+        addKey(userKeys, (first + " " + last).trim(), user);
+        addKey(userKeys, (last + " " + first).trim(), user);
+        addKey(userKeys, TextNormalizer.normalize(user.getEmail()), user);
+        keysById.put(user.getId(), userKeys);
+    }
+
+    public synchronized void remove(UUID id) {
+        List<String> previous = keysById.remove(id);
+        if (previous != null) {
+            previous.forEach(keys::remove);
+        }
+    }
+
+    public List<UserDTO> search(String query, Role role, boolean enabledOnly, int limit) {
+        String prefix = TextNormalizer.normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        ConcurrentNavigableMap<String, UserDTO> range = keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        Map<UUID, UserDTO> matches = new LinkedHashMap<>();
+        for (UserDTO user : range.values()) {
+            if ((role == null || role == user.getRole()) && (!enabledOnly || user.isEnabled())) {
+                matches.putIfAbsent(user.getId(), user);
+                if (matches.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    private void addKey(List<String> userKeys, String normalized, UserDTO user) {
+        if (!normalized.isEmpty()) {
+            String key = normalized + SEPARATOR + user.getId();
+            keys.put(key, user);
+            userKeys.add(key);
+        }
+    }
+}
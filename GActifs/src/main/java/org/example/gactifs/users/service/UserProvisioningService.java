@@ -0,0 +1,241 @@
+package org.example.gactifs.users.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.example.gactifs.auth.Model.UserDTO;
+import org.example.gactifs.auth.repository.UserRepository;
+import org.example.gactifs.config.BoundedPasswordEncoder;
+import org.example.gactifs.config.PasswordHashingRejectedException;
+import org.example.gactifs.users.dto.BulkUserResult;
+import org.example.gactifs.users.dto.BulkUserRow;
+import org.example.gactifs.users.search.UserAutocompleteIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Création d'utilisateurs en masse : lecture en flux du tableau JSON, hachage parallèle
+// sur le pool borné du PasswordEncoder, contrôle des emails existants par lot et insertion JDBC par lot.
+@Service
+@RequiredArgsConstructor
+public class UserProvisioningService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users (id, first_name, last_name, email, password, role, enabled, registration_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserService userService;
+    private final UserAutocompleteIndex autocompleteIndex;
+
+    @Value("${application.users.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${application.users.bulk.max-in-flight:16}")
+    private int maxInFlight;
+
+    private static final class Pending {
+        final BulkUserResult.Row result;
+        final BulkUserRow row;
+        CompletableFuture<String> hash;
+
+        Pending(BulkUserResult.Row result, BulkUserRow row) {
+            this.result = result;
+            this.row = row;
+        }
+    }
+
+    public BulkUserResult provision(InputStream body) throws IOException {
+        long start = System.nanoTime();
+        long[] timings = new long[2];
+        List<BulkUserResult.Row> results = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<Pending> chunk = new ArrayList<>(chunkSize);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Un tableau JSON d'utilisateurs est attendu");
+            }
+            int index = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                BulkUserRow row = objectMapper.readValue(parser, BulkUserRow.class);
+                // Emails comparés sans casse : doublons de la requête, emails existants et valeur enregistrée
+                if (row.getEmail() != null) {
+                    row.setEmail(row.getEmail().trim().toLowerCase(Locale.ROOT));
+                }
+                BulkUserResult.Row result = BulkUserResult.Row.builder().index(index++).email(row.getEmail()).build();
+                results.add(result);
+                if (isBlank(row.getEmail()) || isBlank(row.getPassword())) {
+                    result.setStatus(BulkUserResult.Status.INVALID);
+                    result.setMessage("email et mot de passe obligatoires");
+                } else if (row.getRole() == null) {
+                    result.setStatus(BulkUserResult.Status.INVALID);
+                    result.setMessage("rôle obligatoire");
+                } else if (!seenEmails.add(row.getEmail())) {
+                    result.setStatus(BulkUserResult.Status.DUPLICATE_IN_REQUEST);
+                } else {
+                    chunk.add(new Pending(result, row));
+                    if (chunk.size() >= chunkSize) {
+                        processChunk(chunk, timings);
+                        chunk.clear();
+                    }
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, timings);
+        }
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        int created = count(results, BulkUserResult.Status.CREATED);
+        int failed = count(results, BulkUserResult.Status.FAILED) + count(results, BulkUserResult.Status.INVALID);
+        return BulkUserResult.builder()
+                .rows(results)
+                .total(results.size())
+                .created(created)
+                .failed(failed)
+                .skipped(results.size() - created - failed)
+                .hashingMillis(timings[0] / 1_000_000)
+                .insertMillis(timings[1] / 1_000_000)
+                .durationMillis(durationMillis)
+                .rowsPerSecond(durationMillis == 0 ? results.size() : results.size() * 1000.0 / durationMillis)
+                .build();
+    }
+
+    private void processChunk(List<Pending> chunk, long[] timings) {
+        // Une seule requête pour tout le lot au lieu d'un existsByEmail par utilisateur
+        Set<String> existing = userRepository.findExistingEmails(
+                chunk.stream().map(p -> p.row.getEmail()).toList());
+
+        long hashStart = System.nanoTime();
+        List<Pending> toInsert = new ArrayList<>(chunk.size());
+        Deque<Pending> inFlight = new ArrayDeque<>();
+        for (Pending p : chunk) {
+            if (existing.contains(p.row.getEmail())) {
+                p.result.setStatus(BulkUserResult.Status.ALREADY_EXISTS);
+                continue;
+            }
+            while (inFlight.size() >= maxInFlight) {
+                await(inFlight.poll());
+            }
+            submitHash(p, inFlight);
+            toInsert.add(p);
+        }
+        while (!inFlight.isEmpty()) {
+            await(inFlight.poll());
+        }
+        timings[0] += System.nanoTime() - hashStart;
+
+        List<Pending> ready = toInsert.stream().filter(p -> p.result.getStatus() == null).toList();
+        long insertStart = System.nanoTime();
+        insert(ready);
+        timings[1] += System.nanoTime() - insertStart;
+    }
+
+    private void submitHash(Pending p, Deque<Pending> inFlight) {
+        while (true) {
+            try {
+                p.hash = passwordEncoder.encodeAsync(p.row.getPassword());
+                inFlight.add(p);
+                return;
+            } catch (PasswordHashingRejectedException e) {
+                // Pool saturé (par exemple par des connexions) : on attend un hachage en cours avant de réessayer
+                if (inFlight.isEmpty()) {
+                    p.result.setStatus(BulkUserResult.Status.FAILED);
+                    p.result.setMessage(e.getMessage());
+                    return;
+                }
+                await(inFlight.poll());
+            }
+        }
+    }
+
+    private void await(Pending p) {
+        try {
+            p.hash.join();
+        } catch (CompletionException e) {
+            p.result.setStatus(BulkUserResult.Status.FAILED);
+            p.result.setMessage(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        }
+    }
+
+    private void insert(List<Pending> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (Pending p : rows) {
+            p.result.setId(UUID.randomUUID());
+            args.add(toArgs(p, today));
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, args);
+            rows.forEach(p -> p.result.setStatus(BulkUserResult.Status.CREATED));
+        } catch (DataAccessException batchError) {
+            // Le lot a échoué (ex. email créé entre-temps) : on rejoue ligne par ligne pour un résultat précis
+            for (int i = 0; i < rows.size(); i++) {
+                Pending p = rows.get(i);
+                try {
+                    jdbcTemplate.update(INSERT_SQL, args.get(i));
+                    p.result.setStatus(BulkUserResult.Status.CREATED);
+                } catch (DataAccessException e) {
+                    p.result.setId(null);
+                    p.result.setStatus(BulkUserResult.Status.FAILED);
+                    p.result.setMessage(e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        rows.stream()
+                .filter(p -> p.result.getStatus() == BulkUserResult.Status.CREATED)
+                .forEach(p -> autocompleteIndex.upsert(toDto(p, today)));
+        userService.invalidateStats();
+    }
+
+    private UserDTO toDto(Pending p, LocalDate today) {
+        return UserDTO.builder()
+                .id(p.result.getId())
+                .firstName(p.row.getFirstName())
+                .lastName(p.row.getLastName())
+                .email(p.row.getEmail())
+                .role(p.row.getRole())
+                .registrationDate(today)
+                .enabled(true)
+                .build();
+    }
+
+    private Object[] toArgs(Pending p, LocalDate today) {
+        BulkUserRow row = p.row;
+        return new Object[]{
+                p.result.getId(),
+                row.getFirstName(),
+                row.getLastName(),
+                row.getEmail(),
+                p.hash.join(),
+                row.getRole().name(),
+                true,
+                Date.valueOf(today)
+        };
+    }
+
+    private static int count(List<BulkUserResult.Row> rows, BulkUserResult.Status status) {
+        return (int) rows.stream().filter(r -> r.getStatus() == status).count();
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+}
@@ -1,11 +1,17 @@
 package org.example.gactifs.users.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.gactifs.asset.dto.KeysetPage;
 import org.example.gactifs.auth.Model.User;
 import org.example.gactifs.auth.Model.UserDTO;
 import org.example.gactifs.auth.enums.Role;
 import org.example.gactifs.auth.repository.UserRepository;
+import org.example.gactifs.config.AuthenticationCache;
 import org.example.gactifs.users.Mapper.UserMapper;
+import org.example.gactifs.users.dto.UserDirectoryFilter;
+import org.example.gactifs.users.repository.UserDirectoryRepository;
+import org.example.gactifs.users.search.UserAutocompleteIndex;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -20,6 +26,19 @@ public class UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final AuthenticationCache authenticationCache;
+    private final UserDirectoryRepository userDirectoryRepository;
+    private final UserAutocompleteIndex autocompleteIndex;
+
+    @Value("${application.users.stats-cache.ttl:30000}")
+    private long statsTtlMillis;
+
+    private static final int MAX_DIRECTORY_PAGE_SIZE = 100;
+    private static final int MAX_AUTOCOMPLETE_RESULTS = 50;
+
+    private record CachedStats(Map<String, Object> stats, long expiresAt) {}
+
+    private volatile CachedStats cachedStats;
 
     // CRUD
     public List<UserDTO> getAllUsers() {
@@ -35,33 +54,46 @@ public class UserService {
         User user = userMapper.toEntity(dto);
         user.setPassword(passwordEncoder.encode(rawPassword));
         user.setRegistrationDate(LocalDate.now());
-        return userMapper.toDTO(userRepository.save(user));
+        return onUserWritten(userRepository.save(user));
     }
 
     public UserDTO updateUser(UUID id, UserDTO dto) {
         User user = userRepository.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
+        String previousEmail = user.getEmail();
         user.setFirstName(dto.getFirstName());
         user.setLastName(dto.getLastName());
         user.setEmail(dto.getEmail());
         user.setRole(dto.getRole());
-        return userMapper.toDTO(userRepository.save(user));
+        User saved = userRepository.save(user);
+        // Éviction après l'écriture : un rechargement concurrent ne peut plus remettre l'ancien principal en cache
+        authenticationCache.evictUser(previousEmail);
+        authenticationCache.evictUser(saved.getEmail());
+        return onUserWritten(saved);
     }
 
     public void deleteUser(UUID id) {
+        Optional<User> user = userRepository.findById(id);
         userRepository.deleteById(id);
+        user.ifPresent(u -> authenticationCache.evictUser(u.getEmail()));
+        autocompleteIndex.remove(id);
+        invalidateStats();
     }
 
     // Activation / Désactivation
     public UserDTO activateUser(UUID id) {
         User user = userRepository.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
         user.setEnabled(true);
-        return userMapper.toDTO(userRepository.save(user));
+        User saved = userRepository.save(user);
+        authenticationCache.evictUser(saved.getEmail());
+        return onUserWritten(saved);
     }
 
     public UserDTO deactivateUser(UUID id) {
         User user = userRepository.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
         user.setEnabled(false);
-        return userMapper.toDTO(userRepository.save(user));
+        User saved = userRepository.save(user);
+        authenticationCache.evictUser(saved.getEmail());
+        return onUserWritten(saved);
     }
 
     // Changement de mot de passe
@@ -69,6 +101,7 @@ public class UserService {
         User user = userRepository.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        authenticationCache.evictUser(user.getEmail());
     }
 
     // Réinitialisation (admin)
@@ -77,10 +110,15 @@ public class UserService {
         String tempPassword = UUID.randomUUID().toString().substring(0, 8);
         user.setPassword(passwordEncoder.encode(tempPassword));
         userRepository.save(user);
+        authenticationCache.evictUser(user.getEmail());
         return tempPassword;
     }
 
     // Recherche
+    public List<UserDTO> autocomplete(String term, Role role, int limit) {
+        return autocompleteIndex.search(term, role, true, Math.min(Math.max(limit, 1), MAX_AUTOCOMPLETE_RESULTS));
+    }
+
     public List<UserDTO> searchUsers(String term) {
         return userRepository.findByFirstNameIgnoreCaseContainingOrLastNameIgnoreCaseContaining(term, term)
                 .stream().map(userMapper::toDTO).collect(Collectors.toList());
@@ -94,17 +132,53 @@ public class UserService {
         return userRepository.findByEnabledTrue().stream().map(userMapper::toDTO).collect(Collectors.toList());
     }
 
+    public KeysetPage<UserDTO> getDirectory(UserDirectoryFilter filter, String sort, String direction,
+                                            String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_DIRECTORY_PAGE_SIZE);
+        return userDirectoryRepository.find(filter, UserDirectoryRepository.SortField.from(sort),
+                !"desc".equalsIgnoreCase(direction), cursor, pageSize);
+    }
+
+    // Statistiques calculées par un seul GROUP BY role, enabled et mises en cache peu de temps
     public Map<String, Object> getUserStats() {
-        List<User> users = userRepository.findAll();
-        Map<Role, Long> byRole = Arrays.stream(Role.values())
-                .collect(Collectors.toMap(r -> r, r -> users.stream().filter(u -> u.getRole() == r).count()));
-        long active = users.stream().filter(User::isEnabled).count();
-        long inactive = users.size() - active;
+        CachedStats cached = cachedStats;
+        if (cached != null && System.currentTimeMillis() < cached.expiresAt()) {
+            return cached.stats();
+        }
+        Map<Role, Long> byRole = new EnumMap<>(Role.class);
+        Arrays.stream(Role.values()).forEach(r -> byRole.put(r, 0L));
+        long total = 0;
+        long active = 0;
+        for (Object[] row : userRepository.countByRoleAndEnabled()) {
+            Role role = (Role) row[0];
+            boolean enabled = (Boolean) row[1];
+            long count = (Long) row[2];
+            if (role != null) {
+                byRole.merge(role, count, Long::sum);
+            }
+            if (enabled) {
+                active += count;
+            }
+            total += count;
+        }
         Map<String, Object> stats = new HashMap<>();
-        stats.put("total", users.size());
+        stats.put("total", total);
         stats.put("active", active);
-        stats.put("inactive", inactive);
+        stats.put("inactive", total - active);
         stats.put("byRole", byRole);
+        cachedStats = new CachedStats(Collections.unmodifiableMap(stats), System.currentTimeMillis() + statsTtlMillis);
         return stats;
     }
+
+    // Mise à jour des vues dérivées (index d'autocomplétion, statistiques) après une écriture
+    public UserDTO onUserWritten(User saved) {
+        UserDTO dto = userMapper.toDTO(saved);
+        autocompleteIndex.upsert(dto);
+        invalidateStats();
+        return dto;
+    }
+
+    public void invalidateStats() {
+        cachedStats = null;
+    }
 }
@@ -0,0 +1,91 @@
+package org.example.gactifs.Intervention.assignment;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssignmentSolverTest {
+
+    @Test
+    void prefersTechnicianOfTheServiceAndRespectsCapacity() {
+        List<AssignmentSolver.Task> tasks = List.of(
+                new AssignmentSolver.Task(1, 4, 8, 8, 10L),
+                new AssignmentSolver.Task(2, 4, 8, 1, 20L),
+                new AssignmentSolver.Task(3, 8, Double.POSITIVE_INFINITY, 1, null));
+        List<AssignmentSolver.Technician> technicians = List.of(
+                new AssignmentSolver.Technician(UUID.randomUUID(), 0, 8, Map.of(10L, 1.0), 0),
+                new AssignmentSolver.Technician(UUID.randomUUID(), 0, 4, Map.of(20L, 1.0), 0));
+
+        AssignmentSolver.Solution solution = new AssignmentSolver(new ForkJoinPool(2), 4)
+                .solve(tasks, technicians, Duration.ofMillis(50));
+
+        assertEquals(0, solution.assignment()[0]);
+        assertEquals(1, solution.assignment()[1]);
+        assertEquals(-1, solution.assignment()[2]);
+    }
+
+    @Test
+    void existingLoadCountsAgainstCapacity() {
+        List<AssignmentSolver.Task> tasks = List.of(
+                new AssignmentSolver.Task(1, 4, 4, 8, null),
+                new AssignmentSolver.Task(2, 4, 4, 8, null),
+                new AssignmentSolver.Task(3, 4, 4, 8, null));
+        List<AssignmentSolver.Technician> technicians = List.of(
+                new AssignmentSolver.Technician(UUID.randomUUID(), 36, 40, Map.of(), 0),
+                new AssignmentSolver.Technician(UUID.randomUUID(), 40, 40, Map.of(), 0));
+
+        AssignmentSolver.Solution solution = new AssignmentSolver(new ForkJoinPool(2), 4)
+                .solve(tasks, technicians, Duration.ofMillis(50));
+
+        // 4 h libres chez le premier, aucune chez le second : une seule intervention passe
+        assertEquals(2, solution.unassigned());
+        for (int t : solution.assignment()) {
+            assertTrue(t == -1 || t == 0);
+        }
+    }
+
+    // Exécuté seulement avec le profil benchmark (mvn test -Pbenchmark)
+    @Test
+    @Tag("benchmark")
+    void fiveThousandInterventionsFiveHundredTechnicians() {
+        Random random = new Random(7);
+        long[] services = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12};
+        int[] weights = {8, 4, 2, 1};
+        List<AssignmentSolver.Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            double due = random.nextInt(10) == 0 ? Double.POSITIVE_INFINITY : random.nextDouble() * 80;
+            tasks.add(new AssignmentSolver.Task(i, 0.5 + random.nextInt(8), due,
+                    weights[random.nextInt(weights.length)], services[random.nextInt(services.length)]));
+        }
+        List<AssignmentSolver.Technician> technicians = new ArrayList<>();
+        for (int t = 0; t < 500; t++) {
+            Map<Long, Double> affinity = Map.of(services[t % services.length], 0.8,
+                    services[(t + 5) % services.length], 0.2);
+            technicians.add(new AssignmentSolver.Technician(UUID.randomUUID(), random.nextDouble() * 20, 80, affinity, 0));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        AssignmentSolver.Solution solution = new AssignmentSolver(pool, 4)
+                .solve(tasks, technicians, Duration.ofSeconds(2));
+        pool.shutdown();
+
+        double[] used = technicians.stream().mapToDouble(AssignmentSolver.Technician::load).toArray();
+        for (int i = 0; i < tasks.size(); i++) {
+            int t = solution.assignment()[i];
+            if (t >= 0) {
+                used[t] += tasks.get(i).duration();
+            }
+        }
+        for (int t = 0; t < used.length; t++) {
+            assertTrue(used[t] <= technicians.get(t).capacity());
+        }
+        assertTrue(solution.cost() <= solution.greedyCost());
+        assertEquals(0, solution.unassigned());
+    }
+}
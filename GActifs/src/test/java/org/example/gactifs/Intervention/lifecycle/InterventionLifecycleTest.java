@@ -0,0 +1,56 @@
+package org.example.gactifs.Intervention.lifecycle;
+
+import org.example.gactifs.Intervention.model.Intervention.StatutIntervention;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.example.gactifs.Intervention.model.Intervention.StatutIntervention.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterventionLifecycleTest {
+
+    @Test
+    void followsTheNominalPath() {
+        assertTrue(InterventionLifecycle.allowed(PLANIFIEE, EN_COURS));
+        assertTrue(InterventionLifecycle.allowed(EN_COURS, TERMINEE));
+        assertTrue(InterventionLifecycle.allowed(TERMINEE, VALIDEE));
+    }
+
+    @Test
+    void refusesSkippingSteps() {
+        assertFalse(InterventionLifecycle.allowed(PLANIFIEE, TERMINEE));
+        assertFalse(InterventionLifecycle.allowed(PLANIFIEE, VALIDEE));
+        assertFalse(InterventionLifecycle.allowed(EN_COURS, VALIDEE));
+        assertFalse(InterventionLifecycle.allowed(SUSPENDUE, TERMINEE));
+    }
+
+    @Test
+    void terminalStatusesHaveNoTransition() {
+        for (StatutIntervention to : StatutIntervention.values()) {
+            assertFalse(InterventionLifecycle.allowed(VALIDEE, to));
+            assertFalse(InterventionLifecycle.allowed(ANNULEE, to));
+        }
+        assertEquals(Set.of(), InterventionLifecycle.next(VALIDEE));
+    }
+
+    @Test
+    void completedInterventionCanBeReopened() {
+        assertEquals(Set.of(VALIDEE, EN_COURS), InterventionLifecycle.next(TERMINEE));
+    }
+
+    @Test
+    void missingStatusAllowsNothing() {
+        assertFalse(InterventionLifecycle.allowed(null, PLANIFIEE));
+        assertEquals(Set.of(), InterventionLifecycle.next(null));
+        assertFalse(InterventionLifecycle.allowed(PLANIFIEE, null));
+    }
+
+    @Test
+    void creationOnlyStartsPlannedOrWaiting() {
+        assertEquals(PLANIFIEE, InterventionLifecycle.initial(null));
+        assertEquals(EN_ATTENTE, InterventionLifecycle.initial(EN_ATTENTE));
+        assertEquals(PLANIFIEE, InterventionLifecycle.initial(TERMINEE));
+        assertEquals(PLANIFIEE, InterventionLifecycle.initial(VALIDEE));
+    }
+}
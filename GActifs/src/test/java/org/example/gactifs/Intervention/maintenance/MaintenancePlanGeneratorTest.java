@@ -0,0 +1,58 @@
+package org.example.gactifs.Intervention.maintenance;
+
+import org.example.gactifs.Intervention.model.MaintenancePlan;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MaintenancePlanGeneratorTest {
+
+    @Test
+    void monthlyOccurrencesKeepTheDayOfMonthAndRespectBounds() {
+        MaintenancePlan plan = MaintenancePlan.builder()
+                .frequence(MaintenancePlan.Frequence.MENSUELLE)
+                .intervalle(1)
+                .dateDebut(LocalDate.of(2026, 1, 31))
+                .dateFin(LocalDate.of(2026, 5, 31))
+                .build();
+
+        List<LocalDate> dates = MaintenancePlanGenerator.occurrences(plan, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 12, 1));
+
+        assertEquals(List.of(LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 31),
+                LocalDate.of(2026, 4, 30), LocalDate.of(2026, 5, 31)), dates);
+    }
+
+    @Test
+    void intervalSkipsPeriods() {
+        MaintenancePlan plan = MaintenancePlan.builder()
+                .frequence(MaintenancePlan.Frequence.HEBDOMADAIRE)
+                .intervalle(2)
+                .dateDebut(LocalDate.of(2026, 3, 2))
+                .build();
+
+        List<LocalDate> dates = MaintenancePlanGenerator.occurrences(plan, LocalDate.of(2026, 3, 10), LocalDate.of(2026, 4, 1));
+
+        assertEquals(List.of(LocalDate.of(2026, 3, 16), LocalDate.of(2026, 3, 30)), dates);
+    }
+
+    @Test
+    void startsAtTheFirstOccurrenceOnOrAfterFrom() {
+        LocalDate debut = LocalDate.of(2000, 1, 31);
+        for (MaintenancePlan.Frequence frequence : MaintenancePlan.Frequence.values()) {
+            for (int intervalle = 1; intervalle <= 3; intervalle++) {
+                for (LocalDate from = LocalDate.of(2025, 12, 25); from.isBefore(LocalDate.of(2026, 3, 5)); from = from.plusDays(1)) {
+                    long k = frequence.firstIndexFrom(debut, intervalle, from);
+                    assertFalse(frequence.occurrence(debut, intervalle, k).isBefore(from));
+                    if (k > 0) {
+                        assertTrue(frequence.occurrence(debut, intervalle, k - 1).isBefore(from));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.gactifs.Reclamation.sla;
+
+import org.example.gactifs.Reclamation.model.Reclamation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeadlineSchedulerTest {
+
+    private final long now = System.currentTimeMillis();
+    private final List<DeadlineScheduler.Deadline> table = new ArrayList<>();
+    private final List<Long> published = new ArrayList<>();
+    private JdbcTemplate jdbcTemplate;
+    private DeadlineScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        // Dix échéances passées pendant l'arrêt (après le filigrane) et deux à venir
+        LongStream.rangeClosed(1, 10).forEach(id -> table.add(new DeadlineScheduler.Deadline(now - 60_000 + id, id)));
+        table.add(new DeadlineScheduler.Deadline(now + 3_600_000, 11));
+        table.add(new DeadlineScheduler.Deadline(now + 3_600_001, 12));
+
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of(now - 3_600_000));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(call -> select(call.getArgument(0), call.getArguments()));
+        ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+        doAnswer(call -> published.add(((ReclamationOverdueEvent) call.getArgument(0)).reclamationId()))
+                .when(events).publishEvent(any(Object.class));
+
+        scheduler = new DeadlineScheduler(jdbcTemplate, events);
+        ReflectionTestUtils.setField(scheduler, "maxItems", 4);
+        ReflectionTestUtils.setField(scheduler, "maxOverdue", 3);
+    }
+
+    @Test
+    void publishesDeadlinesMissedWhileDownAndReloadsPastTheHorizon() {
+        scheduler.load();
+        scheduler.tick();
+
+        assertEquals(LongStream.rangeClosed(1, 10).boxed().toList(), published);
+        // Trois retards et les deux échéances à venir restent en mémoire
+        assertEquals(5, scheduler.size());
+        verify(jdbcTemplate).update(anyString(), eq("reclamations"), any(Long.class));
+    }
+
+    @Test
+    void overduePagesContinueFromTheDatabaseBelowTheFloor() {
+        scheduler.load();
+        scheduler.tick();
+
+        List<Long> ids = new ArrayList<>();
+        DeadlineScheduler.Deadline after = null;
+        List<DeadlineScheduler.Deadline> page;
+        do {
+            page = scheduler.overdue(after, 4);
+            page.forEach(d -> ids.add(d.id()));
+            after = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (page.size() == 4);
+
+        assertEquals(LongStream.rangeClosed(1, 10).boxed().toList(), ids);
+    }
+
+    @Test
+    void unchangedOverdueReclamationIsNotPublishedAgain() {
+        scheduler.load();
+        scheduler.tick();
+        published.clear();
+
+        Reclamation r = new Reclamation();
+        r.setId(1L);
+        r.setStatut(Reclamation.StatutReclamation.EN_COURS);
+        r.setDateEcheance(table.get(0).dateEcheance());
+        scheduler.track(r, r.getDateEcheance(), true);
+        assertEquals(List.of(), published);
+
+        scheduler.track(r, r.getDateEcheance(), false);
+        assertEquals(List.of(1L), published);
+    }
+
+    // Réponses de la table réclamations : (date_echeance, id) > (?, ?), <= (?, ?), LIMIT ?
+    private List<DeadlineScheduler.Deadline> select(String sql, Object[] args) {
+        int p = 2;
+        DeadlineScheduler.Deadline after = null;
+        DeadlineScheduler.Deadline upTo = null;
+        if (sql.contains("> (?, ?)")) {
+            after = new DeadlineScheduler.Deadline(((Timestamp) args[p]).getTime(), (Long) args[p + 1]);
+            p += 2;
+        }
+        if (sql.contains("<= (?, ?)")) {
+            upTo = new DeadlineScheduler.Deadline(((Timestamp) args[p]).getTime(), (Long) args[p + 1]);
+            p += 2;
+        }
+        int limit = (Integer) args[p];
+        List<DeadlineScheduler.Deadline> rows = new ArrayList<>();
+        for (DeadlineScheduler.Deadline d : table) {
+            if ((after == null || d.compareTo(after) > 0) && (upTo == null || d.compareTo(upTo) <= 0) && rows.size() < limit) {
+                rows.add(d);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.gactifs.Reclamation.stats;
+
+import org.example.gactifs.Reclamation.model.Reclamation;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class ResolutionStatsServiceTest {
+
+    @Test
+    void sampleWithoutTypeIsCountedOnceInEveryRollup() {
+        ResolutionStatsService service = new ResolutionStatsService(mock(JdbcTemplate.class));
+        service.replace(null, new ResolutionSample(null, Reclamation.PrioriteReclamation.values()[0], null,
+                LocalDate.now(), 90, null, null));
+        service.replace(null, new ResolutionSample(null, null, null, LocalDate.now(), 30, null, null));
+
+        assertEquals(2, service.get(null, null).getCount());
+        assertEquals(1, service.get(null, Reclamation.PrioriteReclamation.values()[0]).getCount());
+        assertEquals(0, service.get(Reclamation.TypeReclamation.values()[0], null).getCount());
+    }
+}
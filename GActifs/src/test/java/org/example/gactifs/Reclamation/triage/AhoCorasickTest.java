@@ -0,0 +1,71 @@
+package org.example.gactifs.Reclamation.triage;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AhoCorasickTest {
+
+    @Test
+    void matchesWholeWordsIgnoringCaseAndAccents() {
+        AhoCorasick<String> automaton = AhoCorasick.compile(List.of(
+                Map.entry("écran noir", "ecran"),
+                Map.entry("noir", "noir"),
+                Map.entry("accès", "acces"),
+                Map.entry("mot de passe", "mdp")));
+
+        List<String> found = new ArrayList<>();
+        automaton.match("ECRAN   Noir, accessoire perdu ; Mot-de-passe expiré (accès)", (pattern, value) -> found.add(value));
+
+        assertEquals(List.of("ecran", "noir", "mdp", "acces"), found);
+    }
+
+    // Exécuté seulement avec le profil benchmark (mvn test -Pbenchmark)
+    @Test
+    @Tag("benchmark")
+    void largeDictionaryOnLargeText() {
+        Random random = new Random(42);
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            entries.add(Map.entry(word(random) + (i % 3 == 0 ? " " + word(random) : ""), i));
+        }
+        AhoCorasick<Integer> automaton = AhoCorasick.compile(entries);
+
+        StringBuilder text = new StringBuilder(" ");
+        while (text.length() < 4_000_000) {
+            text.append(word(random)).append(' ');
+        }
+        String input = text.toString();
+        List<String> sample = new ArrayList<>();
+        long[] matches = new long[1];
+        automaton.match(input, (pattern, value) -> {
+            assertEquals(entries.get(value).getKey(), pattern);
+            if (sample.size() < 1_000) {
+                sample.add(pattern);
+            }
+            matches[0]++;
+        });
+
+        assertEquals(entries.size(), automaton.patternCount());
+        assertTrue(matches[0] > 0);
+        for (String pattern : sample) {
+            assertTrue(input.contains(" " + pattern + " "));
+        }
+    }
+
+    private static String word(Random random) {
+        int length = 3 + random.nextInt(6);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(12));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.gactifs.auth;
+
+import org.example.gactifs.auth.Model.User;
+import org.example.gactifs.auth.Model.UserDTO;
+import org.example.gactifs.auth.enums.Role;
+import org.example.gactifs.auth.repository.UserRepository;
+import org.example.gactifs.auth.throttle.LoginThrottle;
+import org.example.gactifs.auth.token.TokenRepository;
+import org.example.gactifs.config.AuthenticationCache;
+import org.example.gactifs.config.JwtService;
+import org.example.gactifs.users.Mapper.UserMapper;
+import org.example.gactifs.users.repository.UserDirectoryRepository;
+import org.example.gactifs.users.search.UserAutocompleteIndex;
+import org.example.gactifs.users.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SignupAutocompleteTest {
+
+    @Test
+    void newlyRegisteredUserIsEnabledAndFoundByAutocomplete() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.save(any(User.class))).thenAnswer(call -> {
+            User user = call.getArgument(0);
+            user.setId(UUID.randomUUID());
+            return user;
+        });
+        UserAutocompleteIndex index = new UserAutocompleteIndex(userRepository);
+        UserService userService = new UserService(userRepository, new UserMapper(), mock(PasswordEncoder.class),
+                mock(AuthenticationCache.class), mock(UserDirectoryRepository.class), index);
+        AuthenticationService authenticationService = new AuthenticationService(userRepository,
+                mock(TokenRepository.class), mock(PasswordEncoder.class), mock(JwtService.class),
+                mock(AuthenticationManager.class), mock(AuthenticationCache.class), mock(LoginThrottle.class), userService);
+
+        authenticationService.signup(new RegisterRequest("Amine", "Benali", "amine.benali@example.org", "secret", Role.TECHNICIEN));
+
+        List<UserDTO> found = userService.autocomplete("ben", Role.TECHNICIEN, 10);
+        assertEquals(1, found.size());
+        assertEquals("amine.benali@example.org", found.get(0).getEmail());
+        assertTrue(found.get(0).isEnabled());
+    }
+}
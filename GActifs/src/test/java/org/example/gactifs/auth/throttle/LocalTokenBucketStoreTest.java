@@ -0,0 +1,28 @@
+package org.example.gactifs.auth.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalTokenBucketStoreTest {
+
+    @Test
+    void rejectsOnceCapacityIsExhausted() {
+        LocalTokenBucketStore store = new LocalTokenBucketStore(4, 100);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, store.tryConsume("account:a@b.c", 3, 1.0 / 60));
+        }
+        assertTrue(store.tryConsume("account:a@b.c", 3, 1.0 / 60) > 0);
+    }
+
+    @Test
+    void keysAreIndependent() {
+        LocalTokenBucketStore store = new LocalTokenBucketStore(4, 100);
+
+        assertEquals(0, store.tryConsume("ip:10.0.0.1", 1, 0.01));
+        assertTrue(store.tryConsume("ip:10.0.0.1", 1, 0.01) > 0);
+        assertEquals(0, store.tryConsume("ip:10.0.0.2", 1, 0.01));
+    }
+}
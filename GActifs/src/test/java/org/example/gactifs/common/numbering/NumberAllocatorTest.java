@@ -0,0 +1,91 @@
+package org.example.gactifs.common.numbering;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NumberAllocatorTest {
+
+    // Equivalent en mémoire d'une séquence INCREMENT BY blockSize
+    private static BlockSource sequence(int blockSize, AtomicLong reservations) {
+        Map<String, AtomicLong> sequences = new ConcurrentHashMap<>();
+        return series -> {
+            reservations.incrementAndGet();
+            long start = sequences.computeIfAbsent(series, k -> new AtomicLong(1)).getAndAdd(blockSize);
+            return new BlockSource.Block(start, blockSize);
+        };
+    }
+
+    // Petits blocs : beaucoup de changements de bloc concurrents pour un faible volume
+    @Test
+    void concurrentAllocationsAcrossTwoNodesNeverCollide() throws Exception {
+        allocateAndCheck(4, 5_000, 10);
+    }
+
+    // Exécuté seulement avec le profil benchmark (mvn test -Pbenchmark)
+    @Test
+    @Tag("benchmark")
+    void twoMillionAllocationsAcrossTwoNodes() throws Exception {
+        allocateAndCheck(8, 250_000, 100);
+    }
+
+    private static void allocateAndCheck(int threads, int perThread, int blockSize) throws Exception {
+        AtomicLong reservations = new AtomicLong();
+        BlockSource shared = sequence(blockSize, reservations);
+        NumberAllocator[] nodes = {new NumberAllocator(shared), new NumberAllocator(shared)};
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            NumberAllocator node = nodes[t % nodes.length];
+            futures.add(pool.submit(() -> {
+                long[] values = new long[perThread];
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    values[i] = node.next("REC-2026");
+                }
+                return values;
+            }));
+        }
+        start.countDown();
+        long[] all = new long[threads * perThread];
+        int offset = 0;
+        for (Future<long[]> f : futures) {
+            long[] values = f.get(60, TimeUnit.SECONDS);
+            System.arraycopy(values, 0, all, offset, values.length);
+            offset += values.length;
+        }
+        pool.shutdown();
+
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assertTrue(all[i] > all[i - 1], "doublon : " + all[i]);
+        }
+        // Au plus un bloc partiellement consommé par noeud
+        assertTrue(reservations.get() <= all.length / blockSize + nodes.length);
+    }
+
+    @Test
+    void formatsNumbersPerYear() {
+        BlockSource source = sequence(10, new AtomicLong());
+        Clock clock = Clock.fixed(Instant.parse("2026-03-01T10:00:00Z"), ZoneOffset.UTC);
+        NumberingService numbering = new NumberingService(new NumberAllocator(source), clock);
+
+        assertEquals("REC-2026-000001", numbering.nextReclamationNumero());
+        assertEquals("REC-2026-000002", numbering.nextReclamationNumero());
+        assertEquals("INT-2026-000001", numbering.nextInterventionNumero());
+    }
+}
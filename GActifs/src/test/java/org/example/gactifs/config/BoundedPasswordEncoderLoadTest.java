@@ -0,0 +1,95 @@
+package org.example.gactifs.config;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Exécuté seulement avec le profil benchmark (mvn test -Pbenchmark)
+@Tag("benchmark")
+class BoundedPasswordEncoderLoadTest {
+
+    private static final int REQUEST_THREADS = 16;
+    private static final int STORM_CLIENTS = 12;
+    private static final int HASHING_THREADS = 2;
+    private static final int HASHING_QUEUE = 4;
+
+    // Tempête de connexions sur le pool de requêtes (équivalent des threads Tomcat) pendant qu'un autre
+    // endpoint est sondé toutes les 10 ms : ses temps de réponse ne doivent pas suivre ceux du hachage
+    @Test
+    void loginStormKeepsOtherEndpointsResponsive() throws Exception {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(10);
+        String hash = bcrypt.encode("secret");
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(bcrypt, HASHING_THREADS, HASHING_QUEUE, 2_000);
+        ExecutorService requests = Executors.newFixedThreadPool(REQUEST_THREADS);
+        ExecutorService clients = Executors.newFixedThreadPool(STORM_CLIENTS);
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        AtomicInteger maxQueued = new AtomicInteger();
+        List<Long> rejections = Collections.synchronizedList(new ArrayList<>());
+        try {
+            for (int c = 0; c < STORM_CLIENTS; c++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        long start = System.nanoTime();
+                        boolean ok = requests.submit(() -> {
+                            try {
+                                return encoder.matches("secret", hash);
+                            } catch (PasswordHashingRejectedException e) {
+                                return false;
+                            }
+                        }).get();
+                        if (ok) {
+                            accepted.incrementAndGet();
+                        } else {
+                            rejections.add(System.nanoTime() - start);
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            List<Long> probes = new ArrayList<>();
+            while (System.nanoTime() < end) {
+                long start = System.nanoTime();
+                requests.submit(() -> "pong").get();
+                probes.add(System.nanoTime() - start);
+                maxActive.accumulateAndGet(encoder.getActiveCount(), Math::max);
+                maxQueued.accumulateAndGet(encoder.getQueueSize(), Math::max);
+                Thread.sleep(10);
+            }
+            clients.shutdown();
+            assertTrue(clients.awaitTermination(30, TimeUnit.SECONDS));
+
+            assertTrue(accepted.get() > 0, "aucune connexion servie");
+            assertTrue(!rejections.isEmpty(), "le pool de hachage n'a pas été saturé");
+            assertTrue(maxActive.get() <= HASHING_THREADS);
+            assertTrue(maxQueued.get() <= HASHING_QUEUE);
+            // Rejet immédiat plutôt qu'attente d'un thread de hachage
+            assertTrue(percentile(rejections, 0.99) < TimeUnit.MILLISECONDS.toNanos(50));
+            // L'autre endpoint garde un thread de requête libre pendant toute la tempête
+            assertTrue(percentile(probes, 0.99) < TimeUnit.MILLISECONDS.toNanos(50));
+            assertEquals(0, probes.stream().filter(p -> p > TimeUnit.MILLISECONDS.toNanos(200)).count());
+        } finally {
+            clients.shutdownNow();
+            requests.shutdownNow();
+            encoder.destroy();
+        }
+    }
+
+    private static long percentile(List<Long> values, double p) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1));
+    }
+}
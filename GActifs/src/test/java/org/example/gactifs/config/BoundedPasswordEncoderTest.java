@@ -0,0 +1,87 @@
+package org.example.gactifs.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    // Hachage bloqué jusqu'à l'ouverture du loquet ; rend la main si le thread est interrompu
+    private static PasswordEncoder blocking(CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+
+    @Test
+    void rejectsWhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking(release), 1, 1, 5_000);
+        try {
+            CompletableFuture<String> running = encoder.encodeAsync("a");
+            CompletableFuture<String> queued = encoder.encodeAsync("b");
+
+            assertThrows(PasswordHashingRejectedException.class, () -> encoder.encodeAsync("c"));
+
+            release.countDown();
+            assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void timedOutQueuedTaskGivesBackItsSlot() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking(release), 1, 1, 100);
+        try {
+            CompletableFuture<String> running = encoder.encodeAsync("a");
+
+            assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode("b"));
+            assertEquals(0, encoder.getQueueSize());
+
+            CompletableFuture<String> next = encoder.encodeAsync("c");
+            release.countDown();
+            assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hash:c", next.get(5, TimeUnit.SECONDS));
+        } finally {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void timedOutRunningTaskIsInterrupted() throws Exception {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking(new CountDownLatch(1)), 1, 1, 100);
+        try {
+            assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode("a"));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (encoder.getActiveCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, encoder.getActiveCount());
+        } finally {
+            encoder.destroy();
+        }
+    }
+}